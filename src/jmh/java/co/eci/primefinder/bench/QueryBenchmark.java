@@ -0,0 +1,160 @@
+package co.eci.primefinder.bench;
+
+import co.eci.primefinder.PrimeEngine;
+import co.eci.primefinder.PrimeIndex;
+import co.eci.primefinder.PrimeStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * QueryBenchmark: Costo de las consultas de PrimeIndex (JMH)
+ *
+ * Sin -p file=RUTA genera un store temporal hasta -p maxValue (por defecto 10.000.000).
+ * Mide isPrime, primeCount con y sin cache, primePi y nthPrime sobre entradas aleatorias,
+ * y el popcount directo de PrimeStore como referencia.
+ *
+ * mvn -Pbench verify -Djmh.include=QueryBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class QueryBenchmark {
+
+    private static final int INPUTS = 1 << 12;
+    private static final int MASK = INPUTS - 1;
+    // Rangos repetidos: pocos rangos distintos que caben en la cache
+    private static final int HOT_MASK = 63;
+
+    @Param("10000000")
+    public int maxValue;
+
+    @Param("")
+    public String file;
+
+    private Path path;
+    private boolean temporary;
+    private PrimeStore store;
+    private PrimeIndex uncached;
+    private PrimeIndex cached;
+    private int[] as;
+    private int[] bs;
+    private int[] ks;
+
+    /**
+     * Posicion de cada hilo en las entradas aleatorias
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        int i;
+
+        int next(int mask) {
+            return i++ & mask;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        temporary = file.isEmpty();
+        if (temporary) {
+            path = Files.createTempFile("primes", ".bin");
+            fill(path, maxValue);
+        } else {
+            path = Path.of(file);
+        }
+        store = PrimeStore.openReadOnly(path);
+        uncached = PrimeIndex.build(store, 0);
+        cached = PrimeIndex.build(store, 256);
+
+        int limit = uncached.limit();
+        SplittableRandom rnd = new SplittableRandom(42);
+        as = new int[INPUTS];
+        bs = new int[INPUTS];
+        ks = new int[INPUTS];
+        for (int i = 0; i < INPUTS; i++) {
+            int x = rnd.nextInt(limit);
+            int y = rnd.nextInt(limit);
+            as[i] = Math.min(x, y);
+            bs[i] = Math.max(x, y);
+            ks[i] = 1 + rnd.nextInt(uncached.totalPrimes());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        store.close();
+        if (temporary) Files.deleteIfExists(path);
+    }
+
+    @Benchmark
+    public boolean isPrime(Cursor c) {
+        return uncached.isPrime(as[c.next(MASK)]);
+    }
+
+    @Benchmark
+    public int primePi(Cursor c) {
+        return uncached.primePi(bs[c.next(MASK)]);
+    }
+
+    @Benchmark
+    public int primeCountIndex(Cursor c) {
+        int i = c.next(MASK);
+        return uncached.primeCount(as[i], bs[i]);
+    }
+
+    @Benchmark
+    public int primeCountCachedHot(Cursor c) {
+        int i = c.next(HOT_MASK);
+        return cached.primeCount(as[i], bs[i]);
+    }
+
+    @Benchmark
+    public int primeCountCachedCold(Cursor c) {
+        int i = c.next(MASK);
+        return cached.primeCount(as[i], bs[i]);
+    }
+
+    @Benchmark
+    public int nthPrime(Cursor c) {
+        return uncached.nthPrime(ks[c.next(MASK)]);
+    }
+
+    @Benchmark
+    public int storePopcountScan(Cursor c) {
+        int i = c.next(MASK);
+        return store.primeCount(as[i], bs[i]);
+    }
+
+    /**
+     * Llena un store con todos los primos hasta maxValue usando el motor BATCH
+     */
+    static void fill(Path file, int maxValue) throws IOException {
+        try (PrimeStore store = PrimeStore.open(file, maxValue, 1)) {
+            int chunk = 1 << 16;
+            for (long lo = 0; lo <= maxValue; lo += chunk) {
+                int hi = (int) Math.min(lo + chunk, (long) maxValue + 1);
+                PrimeEngine.BATCH.scan((int) lo, hi, store::markPrime);
+            }
+            store.checkpoint(0, maxValue + 1);
+        }
+    }
+}
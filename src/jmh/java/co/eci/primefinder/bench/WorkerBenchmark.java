@@ -0,0 +1,238 @@
+package co.eci.primefinder.bench;
+
+import co.eci.primefinder.PauseManager;
+import co.eci.primefinder.PrimeEngine;
+import co.eci.primefinder.PrimeFinderThread;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WorkerBenchmark: Mediciones de PrimeFinderThread, PauseManager y el protocolo de pausa (JMH)
+ *
+ * - isPrime: operaciones/s por motor y por magnitud del candidato
+ * - endToEnd: corridas/s y, como contador auxiliar "primes", primos/s de -p workers
+ *   trabajadores sobre [0, -p range)
+ * - checkPause_Nthreads: costo de checkPause() por llamada con N hilos JMH compitiendo por el monitor
+ * - pauseToQuiescence / resumeToRunning: desde pause()/resume() hasta que todos
+ *   los trabajadores estan dormidos / despiertos
+ *
+ * mvn -Pbench verify -Djmh.include=WorkerBenchmark -Djmh.args="-p workers=1,2,4,8"
+ * El motor TRIAL es la linea base.
+ */
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class WorkerBenchmark {
+
+    private static final int INPUTS = 1 << 12;
+
+    @State(Scope.Thread)
+    public static class Candidates {
+        @Param({ "TRIAL", "MILLER_RABIN", "BATCH" })
+        public PrimeEngine engine;
+
+        @Param({ "1000", "1000000", "100000000", "1000000000" })
+        public int magnitude;
+
+        int[] inputs;
+        int i;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            SplittableRandom rnd = new SplittableRandom(magnitude);
+            inputs = new int[INPUTS];
+            for (int k = 0; k < INPUTS; k++) {
+                inputs[k] = magnitude + rnd.nextInt(magnitude);
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public boolean isPrime(Candidates c) {
+        return c.engine.isPrime(c.inputs[c.i++ & (INPUTS - 1)]);
+    }
+
+    @State(Scope.Thread)
+    public static class Run {
+        @Param({ "TRIAL", "MILLER_RABIN", "BATCH" })
+        public PrimeEngine engine;
+
+        @Param({ "1", "2", "4" })
+        public int workers;
+
+        @Param("5000000")
+        public int range;
+    }
+
+    /**
+     * Primos encontrados; JMH lo reporta como tasa (primos/s) junto al puntaje principal
+     */
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Found {
+        public long primes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            primes = 0;
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void endToEnd(Run run, Found found) throws InterruptedException {
+        PauseManager pm = new PauseManager();
+        PrimeFinderThread[] threads = new PrimeFinderThread[run.workers];
+        int slice = run.range / run.workers;
+        for (int w = 0; w < run.workers; w++) {
+            int a = w * slice;
+            int b = (w == run.workers - 1) ? run.range : a + slice;
+            threads[w] = new PrimeFinderThread(a, b, pm, null, w, run.engine);
+        }
+        for (PrimeFinderThread t : threads) t.start();
+        for (PrimeFinderThread t : threads) {
+            t.join();
+            found.primes += t.getPrimeCount();
+        }
+    }
+
+    /**
+     * Un solo PauseManager compartido por todos los hilos JMH del benchmark
+     */
+    @State(Scope.Benchmark)
+    public static class Shared {
+        final PauseManager pm = new PauseManager();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Threads(1)
+    public void checkPause_1thread(Shared s) {
+        s.pm.checkPause();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Threads(2)
+    public void checkPause_2threads(Shared s) {
+        s.pm.checkPause();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Threads(4)
+    public void checkPause_4threads(Shared s) {
+        s.pm.checkPause();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Threads(Threads.MAX)
+    public void checkPause_maxThreads(Shared s) {
+        s.pm.checkPause();
+    }
+
+    /**
+     * Trabajadores sobre un rango que no termina durante la medicion. Al final quedan
+     * pausados (daemon): interrumpirlos los dejaria girando en checkPause()
+     */
+    @State(Scope.Benchmark)
+    public abstract static class Pool {
+        @Param("4")
+        public int workers;
+
+        PauseManager pm;
+
+        @Setup(Level.Trial)
+        public void start() {
+            pm = new PauseManager();
+            for (int w = 0; w < workers; w++) {
+                PrimeFinderThread worker = new PrimeFinderThread(1_000_000_000, 2_000_000_000, pm);
+                worker.setDaemon(true);
+                worker.start();
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            pm.pause();
+        }
+
+        void awaitQuiescence() throws InterruptedException {
+            if (!pm.awaitQuiescence(workers, 5_000)) {
+                throw new IllegalStateException("Workers did not reach quiescence");
+            }
+        }
+
+        void awaitRunning() throws InterruptedException {
+            if (!pm.awaitRunning(5_000)) {
+                throw new IllegalStateException("Workers did not resume");
+            }
+        }
+    }
+
+    /**
+     * Antes de cada medicion los trabajadores estan corriendo
+     */
+    public static class Running extends Pool {
+        @Setup(Level.Invocation)
+        public void ensureRunning() throws InterruptedException {
+            pm.resume();
+            awaitRunning();
+            // Dejarlos en medio de un bloque, no recien despertados
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * Antes de cada medicion los trabajadores estan dormidos en checkPause()
+     */
+    public static class Paused extends Pool {
+        @Setup(Level.Invocation)
+        public void ensurePaused() throws InterruptedException {
+            pm.pause();
+            awaitQuiescence();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Threads(1)
+    public void pauseToQuiescence(Running pool) throws InterruptedException {
+        pool.pm.pause();
+        pool.awaitQuiescence();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Threads(1)
+    public void resumeToRunning(Paused pool) throws InterruptedException {
+        pool.pm.resume();
+        pool.awaitRunning();
+    }
+}
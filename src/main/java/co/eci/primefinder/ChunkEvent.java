@@ -0,0 +1,39 @@
+package co.eci.primefinder;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * ChunkEvent: evento JFR por cada bloque de CHUNK numeros evaluado por un PrimeFinderThread
+ *
+ * - La duracion es solo el scan del bloque (no incluye el tiempo en pausa)
+ * - Desactivado por defecto: se habilita con un perfil de configuracion (jfr/snake.jfc)
+ */
+@Name("co.eci.primefinder.Chunk")
+@Label("Prime Chunk")
+@Category({"PrimeFinder"})
+@Description("Un bloque del rango de un trabajador evaluado con un PrimeEngine")
+@Enabled(false)
+@StackTrace(false)
+public final class ChunkEvent extends Event {
+
+    @Label("Worker")
+    public String worker;
+
+    @Label("From")
+    public int from;
+
+    @Label("To")
+    public int to;
+
+    @Label("Primes")
+    public int primes;
+
+    @Label("Engine")
+    public String engine;
+}
@@ -1,7 +1,13 @@
 package co.eci.primefinder;
 
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Path;
 
 /**
  * Control: Hilo coordinador
@@ -10,48 +16,86 @@ import java.io.InputStreamReader;
  * - Crear y iniciar los hilos trabajadores (PrimeFinderThread)
  * - Cada TMILISECONDS: pausar, mostrar reporte, esperar ENTER, reanudar
  * - Usa PauseManager para sincronización
+ * - En modo batch (ControlConfig.batch) no pausa ni lee System.in: imprime una
+ *   linea de progreso cada intervalo y al terminar un resumen con tiempo total,
+ *   primos/s y heap maximo usado
+ * - Si se define un archivo (-Dprimefinder.file=RUTA o --file=RUTA), los resultados se escriben en un
+ *   PrimeStore mapeado en memoria y una corrida reiniciada continua desde el
+ *   ultimo checkpoint de cada trabajador
  */
 public class Control extends Thread {
     
-    private final static int NTHREADS = 3;
-    private final static int MAXVALUE = 300000000;
-    private final static int TMILISECONDS = 5000;
+    // Valores por defecto (ver ControlConfig)
+    final static int NTHREADS = 3;
+    final static int MAXVALUE = 300000000;
+    final static int TMILISECONDS = 5000;
 
-    private final int NDATA = MAXVALUE / NTHREADS;
+    private final ControlConfig config;
+    private final int NDATA;
 
     private PrimeFinderThread pft[];
     
     // Gestor centralizado de pausa (monitor)
     private PauseManager pauseManager;
+
+    // Almacenamiento persistente opcional (null = resultados solo en el heap)
+    private final PrimeStore store;
     
-    private Control() {
+    private Control(ControlConfig config) {
         super();
+        this.config = config;
+        this.NDATA = config.maxValue() / config.threads();
         this.pauseManager = new PauseManager();
-        this.pft = new  PrimeFinderThread[NTHREADS];
+        this.pft = new  PrimeFinderThread[config.threads()];
+        this.store = openStore(config);
 
         int i;
-        for(i = 0;i < NTHREADS - 1; i++) {
-            PrimeFinderThread elem = new PrimeFinderThread(i*NDATA, (i+1)*NDATA, pauseManager);
-            pft[i] = elem;
+        for(i = 0;i < config.threads() - 1; i++) {
+            pft[i] = newWorker(i, i*NDATA, (i+1)*NDATA);
+        }
+        pft[i] = newWorker(i, i*NDATA, config.maxValue() + 1);
+    }
+
+    private PrimeFinderThread newWorker(int id, int a, int b) {
+        PrimeEngine engine = config.engine() != null ? config.engine() : PrimeEngine.forRange(a, b);
+        return new PrimeFinderThread(a, b, pauseManager, store, id, engine);
+    }
+
+    private static PrimeStore openStore(ControlConfig config) {
+        if (config.file() == null) {
+            return null;
+        }
+        try {
+            return PrimeStore.open(Path.of(config.file()), config.maxValue(), config.threads());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open prime store " + config.file(), e);
         }
-        pft[i] = new PrimeFinderThread(i*NDATA, MAXVALUE + 1, pauseManager);
     }
     
     public static Control newControl() {
-        return new Control();
+        return new Control(ControlConfig.defaults());
+    }
+
+    public static Control newControl(ControlConfig config) {
+        return new Control(config);
     }
 
     @Override
     public void run() {
         // Iniciar todos los hilos trabajadores
-        for(int i = 0;i < NTHREADS;i++ ) {
+        for(int i = 0;i < pft.length;i++ ) {
             pft[i].start();
         }
+
+        if (config.batch()) {
+            runBatch();
+            return;
+        }
         
         // Hilo de control: cada TMILISECONDS pausa el trabajo
         try {
             while(true) {
-                Thread.sleep(TMILISECONDS);
+                Thread.sleep(config.intervalMillis());
                 pauseWorkers();
                 showStatus();
                 waitForUserInput();
@@ -76,11 +120,12 @@ public class Control extends Thread {
      * Cuenta los primos en cada hilo trabajador
      */
     private void showStatus() {
-        int totalPrimes = 0;
-        for(int i = 0; i < NTHREADS; i++) {
-            totalPrimes += pft[i].getPrimes().size();
-        }
+        long totalPrimes = totalPrimes();
         System.out.println("[REPORTE] Total de primos encontrados: " + totalPrimes);
+        if (store != null) {
+            // Los trabajadores estan pausados: buen momento para bajar el checkpoint a disco
+            store.force();
+        }
     }
     
     /**
@@ -104,4 +149,105 @@ public class Control extends Thread {
         pauseManager.resume();
         System.out.println("[CONTROL] Reanudando hilos...\n");
     }
+
+    /**
+     * Modo batch: los trabajadores nunca se pausan; el control solo observa
+     * sus contadores (volatile) cada intervalo y espera a que terminen.
+     * primos/s cuenta solo lo encontrado en esta sesion, no lo recuperado del checkpoint.
+     * Al terminar cierra el PrimeStore (lo que tambien lo baja a disco)
+     */
+    private void runBatch() {
+        long start = System.nanoTime();
+        long total = (long) config.maxValue() + 1;
+        System.out.printf("[BATCH] max=%d hilos=%d intervalo=%dms motor=%s archivo=%s%n",
+                config.maxValue(), pft.length, config.intervalMillis(),
+                config.engine() != null ? config.engine() : "AUTO",
+                config.file() != null ? config.file() : "-");
+        try (store) {
+            while(!allFinished()) {
+                join(pft, config.intervalMillis());
+                if (allFinished()) {
+                    break;
+                }
+                double seconds = (System.nanoTime() - start) / 1e9;
+                System.out.printf("[PROGRESO] t=%.1fs primos=%d avance=%.1f%% primos/s=%.0f%n",
+                        seconds, totalPrimes(), 100.0 * processed() / total, sessionPrimes() / seconds);
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("[RESUMEN] tiempo=%.3fs primos=%d recuperados=%d primos/s=%.0f heapMaximo=%.1fMB%n",
+                    seconds, totalPrimes(), resumedPrimes(), sessionPrimes() / seconds,
+                    peakHeapBytes() / (1024.0 * 1024.0));
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch(IOException e) {
+            throw new UncheckedIOException("Cannot close prime store " + config.file(), e);
+        }
+    }
+
+    /**
+     * Espera hasta timeoutMillis a que terminen los trabajadores
+     */
+    private static void join(PrimeFinderThread[] workers, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        for (PrimeFinderThread w : workers) {
+            long left = deadline - System.currentTimeMillis();
+            if (left <= 0) {
+                return;
+            }
+            w.join(left);
+        }
+    }
+
+    private boolean allFinished() {
+        for (PrimeFinderThread w : pft) {
+            if (w.isAlive()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long totalPrimes() {
+        long total = 0;
+        for (PrimeFinderThread w : pft) {
+            total += w.getPrimeCount();
+        }
+        return total;
+    }
+
+    private long resumedPrimes() {
+        long total = 0;
+        for (PrimeFinderThread w : pft) {
+            total += w.getResumedCount();
+        }
+        return total;
+    }
+
+    /**
+     * Primos encontrados en esta corrida (sin los recuperados del checkpoint)
+     */
+    private long sessionPrimes() {
+        return totalPrimes() - resumedPrimes();
+    }
+
+    private long processed() {
+        long done = 0;
+        for (PrimeFinderThread w : pft) {
+            done += w.getProcessed();
+        }
+        return done;
+    }
+
+    /**
+     * Suma del uso maximo de cada pool del heap desde que arranco la JVM
+     */
+    private static long peakHeapBytes() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
 }
@@ -0,0 +1,71 @@
+package co.eci.primefinder;
+
+/**
+ * ControlConfig: Parametros de una corrida de Control
+ *
+ * Cada valor se toma, en orden de prioridad, de:
+ * 1. Argumentos de linea de comandos: --max=N --threads=N --interval=MS --engine=NOMBRE --file=RUTA --batch
+ * 2. Propiedades del sistema: -Dprimefinder.max, .threads, .interval, .engine, .file, .batch
+ * 3. Los valores por defecto de Control (interactivo, 3 hilos, 300.000.000, 5000 ms)
+ *
+ * engine == null significa elegir el motor segun el rango de cada trabajador (AUTO,
+ * ver PrimeEngine.forRange: BATCH salvo en rangos de menos de 1024 numeros).
+ */
+public record ControlConfig(int maxValue, int threads, long intervalMillis, PrimeEngine engine,
+                            String file, boolean batch) {
+
+    public ControlConfig {
+        if (maxValue < 1) throw new IllegalArgumentException("max must be >= 1");
+        // El ultimo trabajador recorre [a, maxValue + 1), que debe caber en un int
+        if (maxValue == Integer.MAX_VALUE) throw new IllegalArgumentException("max must be < " + Integer.MAX_VALUE);
+        if (threads < 1) throw new IllegalArgumentException("threads must be >= 1");
+        if (threads > maxValue) throw new IllegalArgumentException("threads must be <= max");
+        if (intervalMillis <= 0) throw new IllegalArgumentException("interval must be > 0");
+    }
+
+    public static ControlConfig defaults() {
+        return fromArgs(new String[0]);
+    }
+
+    public static ControlConfig fromArgs(String[] args) {
+        int maxValue = Integer.getInteger("primefinder.max", Control.MAXVALUE);
+        int threads = Integer.getInteger("primefinder.threads", Control.NTHREADS);
+        long interval = Long.getLong("primefinder.interval", Control.TMILISECONDS);
+        String engine = System.getProperty("primefinder.engine", "auto");
+        String file = System.getProperty("primefinder.file");
+        boolean batch = Boolean.getBoolean("primefinder.batch");
+
+        for (String arg : args) {
+            String key = arg;
+            String value = null;
+            int eq = arg.indexOf('=');
+            if (eq >= 0) {
+                key = arg.substring(0, eq);
+                value = arg.substring(eq + 1);
+            }
+            switch (key) {
+                case "--max" -> maxValue = Integer.parseInt(required(key, value));
+                case "--threads" -> threads = Integer.parseInt(required(key, value));
+                case "--interval" -> interval = Long.parseLong(required(key, value));
+                case "--engine" -> engine = required(key, value);
+                case "--file" -> file = required(key, value);
+                case "--batch" -> batch = value == null || Boolean.parseBoolean(value);
+                default -> throw new IllegalArgumentException("Unknown argument: " + arg);
+            }
+        }
+        if (file != null && file.isBlank()) file = null;
+        return new ControlConfig(maxValue, threads, interval, parseEngine(engine), file, batch);
+    }
+
+    private static PrimeEngine parseEngine(String name) {
+        if (name.equalsIgnoreCase("auto")) return null;
+        return PrimeEngine.valueOf(name.trim().toUpperCase());
+    }
+
+    private static String required(String key, String value) {
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException(key + " requires a value (" + key + "=...)");
+        }
+        return value;
+    }
+}
@@ -3,7 +3,7 @@ package co.eci.primefinder;
 public class Main {
 
     public static void main(String[] args) {
-        Control control = Control.newControl();
+        Control control = Control.newControl(ControlConfig.fromArgs(args));
         
         control.start();
 
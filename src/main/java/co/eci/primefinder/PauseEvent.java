@@ -0,0 +1,23 @@
+package co.eci.primefinder;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * PauseEvent: evento JFR instantaneo en cada transicion pause()/resume() del PauseManager
+ */
+@Name("co.eci.primefinder.Pause")
+@Label("Pause Transition")
+@Category({"PrimeFinder"})
+@StackTrace(false)
+public final class PauseEvent extends Event {
+
+    @Label("Paused")
+    public boolean paused;
+
+    @Label("Waiting Workers")
+    public int waitingWorkers;
+}
@@ -16,6 +16,9 @@ public class PauseManager {
     
     // Variable de condición: determina si los trabajadores deben pausarse
     private boolean paused = false;
+
+    // Trabajadores actualmente dormidos en checkPause()
+    private int waiting = 0;
     
     /**
      * Los hilos trabajadores llaman a este método
@@ -24,6 +27,12 @@ public class PauseManager {
      * SIN BUSY-WAITING: Usa wait() que duerme realmente
      */
     public synchronized void checkPause() {
+        boolean parked = paused;
+        if(parked) {
+            waiting++;
+            // Avisa a quien espere en awaitQuiescence() que otro trabajador se detuvo
+            this.notifyAll();
+        }
         // IMPORTANTE: Usar while() en lugar de if()
         // Esto evita "lost wakeups" - si otro hilo cambió la condición,
         // el while lo verifica nuevamente
@@ -38,6 +47,13 @@ public class PauseManager {
                 Thread.currentThread().interrupt();
             }
         }
+        if(parked) {
+            waiting--;
+            if(waiting == 0) {
+                // Avisa a quien espere en awaitRunning() que todos volvieron a trabajar
+                this.notifyAll();
+            }
+        }
     }
     
     /**
@@ -45,7 +61,11 @@ public class PauseManager {
      * Pausa todos los trabajadores
      */
     public synchronized void pause() {
+        boolean changed = !paused;
         paused = true;
+        if(changed) {
+            recordTransition();
+        }
     }
     
     /**
@@ -53,13 +73,69 @@ public class PauseManager {
      * Despierta todos los trabajadores esperando
      */
     public synchronized void resume() {
+        boolean changed = paused;
         paused = false;
+        if(changed) {
+            recordTransition();
+        }
         // notifyAll() despierta TODOS los hilos esperando en wait()
         // Preferimos notifyAll() en lugar de notify() para garantizar
         // que todos los trabajadores se despiertan (más seguro)
         this.notifyAll();
     }
     
+    /**
+     * Emite un PauseEvent (JFR) si esta habilitado; se llama con el lock tomado
+     */
+    private void recordTransition() {
+        PauseEvent event = new PauseEvent();
+        if(event.shouldCommit()) {
+            event.paused = paused;
+            event.waitingWorkers = waiting;
+            event.commit();
+        }
+    }
+
+    /**
+     * Bloquea hasta que `workers` trabajadores esten dormidos en checkPause()
+     * (pausa efectiva, no solo solicitada) o hasta que pase timeoutMillis.
+     * Devuelve true si se alcanzo la quiescencia.
+     */
+    public synchronized boolean awaitQuiescence(int workers, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while(paused && waiting < workers) {
+            long left = deadline - System.currentTimeMillis();
+            if(left <= 0) {
+                return false;
+            }
+            this.wait(left);
+        }
+        return paused;
+    }
+
+    /**
+     * Bloquea hasta que ningun trabajador siga dormido despues de resume()
+     * o hasta que pase timeoutMillis. Devuelve true si todos despertaron.
+     */
+    public synchronized boolean awaitRunning(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while(waiting > 0) {
+            long left = deadline - System.currentTimeMillis();
+            if(left <= 0) {
+                return false;
+            }
+            this.wait(left);
+        }
+        return true;
+    }
+
+    /**
+     * Cantidad de trabajadores dormidos en checkPause()
+     */
+    public synchronized int waitingWorkers() {
+        return waiting;
+    }
+
     /**
      * Consulta segura del estado de pausa
      */
@@ -0,0 +1,211 @@
+package co.eci.primefinder;
+
+import java.util.function.IntConsumer;
+
+/**
+ * PrimeEngine: Estrategias para decidir si un numero es primo
+ *
+ * - TRIAL: division por tentativa (el algoritmo original), barato para n pequeños
+ * - MILLER_RABIN: Miller-Rabin determinista para int (bases 2, 7 y 61),
+ *   costo O(log n) por candidato sin importar su magnitud
+ * - BATCH: procesa bloques de candidatos consecutivos como palabras de 64 bits;
+ *   todos los candidatos del bloque comparten los mismos primos pequeños como
+ *   divisores, asi que se tachan sus multiplos palabra por palabra y solo los
+ *   sobrevivientes grandes pasan por Miller-Rabin
+ *
+ * forRange elige la estrategia para un rango contiguo: desde BATCH_MIN_RANGE
+ * numeros siempre BATCH (un rango contiguo es denso por definicion); los rangos
+ * mas cortos se prueban uno a uno con TRIAL o MILLER_RABIN segun su magnitud.
+ */
+public enum PrimeEngine {
+
+    TRIAL {
+        @Override
+        public boolean isPrime(int n) {
+            return isPrimeTrial(n);
+        }
+    },
+
+    MILLER_RABIN {
+        @Override
+        public boolean isPrime(int n) {
+            return isPrimeMillerRabin(n);
+        }
+    },
+
+    BATCH {
+        @Override
+        public boolean isPrime(int n) {
+            return n < TRIAL_LIMIT ? isPrimeTrial(n) : isPrimeMillerRabin(n);
+        }
+
+        @Override
+        public int scan(int from, int to, IntConsumer onPrime) {
+            if (from < 0) from = 0;
+            if (from >= to) return 0;
+            long[] words = sieveBlock(from, to);
+            int found = 0;
+            for (int w = 0; w < words.length; w++) {
+                long bits = words[w];
+                while (bits != 0) {
+                    int n = from + (w << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    // Sin divisores <= SMALL_PRIME_LIMIT: es primo si n < limite^2,
+                    // si no hay que confirmarlo con Miller-Rabin
+                    if (n < SIEVED_PRIME_BOUND || millerRabinRounds(n)) {
+                        onPrime.accept(n);
+                        found++;
+                    }
+                }
+            }
+            return found;
+        }
+    };
+
+    // Rangos mas cortos que esto no justifican preparar el bloque de bits
+    static final int BATCH_MIN_RANGE = 1 << 10;
+    // Por debajo de este valor la division por tentativa es mas barata que Miller-Rabin
+    static final int TRIAL_LIMIT = 1 << 16;
+
+    private static final int SMALL_PRIME_LIMIT = 1024;
+    private static final int[] SMALL_PRIMES = smallPrimes(SMALL_PRIME_LIMIT);
+    private static final int SIEVED_PRIME_BOUND = SMALL_PRIME_LIMIT * SMALL_PRIME_LIMIT;
+    private static final int[] MR_BASES = { 2, 7, 61 };
+
+    /**
+     * Determina si n es primo con la estrategia de este motor
+     */
+    public abstract boolean isPrime(int n);
+
+    /**
+     * Reporta a onPrime cada primo en [from, to) en orden ascendente
+     * y devuelve cuantos encontro
+     */
+    public int scan(int from, int to, IntConsumer onPrime) {
+        int found = 0;
+        for (int n = from; n < to; n++) {
+            if (isPrime(n)) {
+                onPrime.accept(n);
+                found++;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Motor para recorrer todo el rango contiguo [from, to): BATCH salvo en
+     * rangos cortos, donde preparar el bloque de bits no se paga
+     */
+    public static PrimeEngine forRange(int from, int to) {
+        if ((long) to - from >= BATCH_MIN_RANGE) {
+            return BATCH;
+        }
+        return to - 1 < TRIAL_LIMIT ? TRIAL : MILLER_RABIN;
+    }
+
+    /**
+     * Division por tentativa: el algoritmo original de PrimeFinderThread.
+     * Compara i <= n / i en lugar de i * i <= n, que se desborda cerca de Integer.MAX_VALUE
+     */
+    static boolean isPrimeTrial(int n) {
+        boolean ans;
+        if (n > 2) {
+            ans = n % 2 != 0;
+            for (int i = 3; ans && i <= n / i; i += 2) {
+                ans = n % i != 0;
+            }
+        } else {
+            ans = n == 2;
+        }
+        return ans;
+    }
+
+    /**
+     * Miller-Rabin determinista: las bases 2, 7 y 61 no tienen falsos
+     * positivos para n < 4.759.123.141, que cubre todo int
+     */
+    static boolean isPrimeMillerRabin(int n) {
+        if (n < 2) return false;
+        for (int p : SMALL_PRIMES) {
+            if (p > 61) break;
+            if (n % p == 0) return n == p;
+        }
+        return millerRabinRounds(n);
+    }
+
+    // Supone n impar y mayor que 61
+    private static boolean millerRabinRounds(int n) {
+        int d = n - 1;
+        int s = Integer.numberOfTrailingZeros(d);
+        d >>= s;
+        for (int a : MR_BASES) {
+            long x = powMod(a, d, n);
+            if (x == 1 || x == n - 1) continue;
+            boolean composite = true;
+            for (int r = 1; r < s; r++) {
+                x = x * x % n;
+                if (x == n - 1) {
+                    composite = false;
+                    break;
+                }
+            }
+            if (composite) return false;
+        }
+        return true;
+    }
+
+    // n < 2^31, asi que los productos caben en un long sin desbordarse
+    private static long powMod(long base, int exp, int n) {
+        long result = 1;
+        base %= n;
+        while (exp > 0) {
+            if ((exp & 1) != 0) result = result * base % n;
+            base = base * base % n;
+            exp >>= 1;
+        }
+        return result;
+    }
+
+    /**
+     * Bloque de bits para [from, to): el bit i queda en 1 si from + i no tiene
+     * divisores primos <= SMALL_PRIME_LIMIT (o si es uno de esos primos)
+     */
+    private static long[] sieveBlock(int from, int to) {
+        int len = to - from;
+        long[] words = new long[(len + 63) >>> 6];
+        java.util.Arrays.fill(words, -1L);
+        if ((len & 63) != 0) {
+            words[words.length - 1] = (1L << (len & 63)) - 1;
+        }
+        for (int n = from; n < 2 && n < to; n++) {
+            clear(words, n - from);
+        }
+        for (int p : SMALL_PRIMES) {
+            long first = Math.max((long) p * p, ((from + (long) p - 1) / p) * p);
+            for (long m = first; m < to; m += p) {
+                clear(words, (int) (m - from));
+            }
+        }
+        return words;
+    }
+
+    private static void clear(long[] words, int bit) {
+        words[bit >>> 6] &= ~(1L << bit);
+    }
+
+    private static int[] smallPrimes(int limit) {
+        boolean[] composite = new boolean[limit];
+        int count = 0;
+        for (int i = 2; i < limit; i++) {
+            if (!composite[i]) {
+                count++;
+                for (int j = i * i; j < limit; j += i) composite[j] = true;
+            }
+        }
+        int[] primes = new int[count];
+        for (int i = 2, k = 0; i < limit; i++) {
+            if (!composite[i]) primes[k++] = i;
+        }
+        return primes;
+    }
+}
@@ -5,60 +5,140 @@ import java.util.List;
 
 /**
  * PrimeFinderThread: Hilo trabajador
- * 
+ *
  * Responsabilidades:
  * - Busca números primos en el rango [a, b)
  * - Se sincroniza con el hilo de control a través de PauseManager
  * - Usa wait() para pausarse sin consumir CPU (sin busy-waiting)
+ * - Evalua el rango por bloques de CHUNK numeros con un PrimeEngine
+ * - Si tiene un PrimeStore, escribe los primos en el archivo mapeado en lugar
+ *   de guardarlos en el heap, y publica su cursor cada CHECKPOINT_INTERVAL numeros
  */
 public class PrimeFinderThread extends Thread{
 
+	// Numeros evaluados entre cada checkPause(); multiplo de 64 para que BATCH use palabras completas
+	private static final int CHUNK = 1 << 12;
+	private static final int CHECKPOINT_INTERVAL = 1 << 16;
+
 	private int a, b;
 	private List<Integer> primes;
-	
+	private volatile int primeCount;
+	// Primos que ya estaban en el store al reanudar desde un checkpoint
+	private volatile int resumedCount;
+	// Siguiente numero a evaluar; lo lee el control para reportar avance
+	private volatile int cursor;
+
 	// Monitor compartido para sincronización (PauseManager)
 	private PauseManager pauseManager;
-	
+
+	// Almacenamiento persistente opcional (null = solo en memoria)
+	private final PrimeStore store;
+	private final int workerId;
+
+	private final PrimeEngine engine;
+
 	public PrimeFinderThread(int a, int b, PauseManager pauseManager) {
+		this(a, b, pauseManager, null, -1, PrimeEngine.forRange(a, b));
+	}
+
+	/**
+	 * Trabajador persistente: reanuda desde el ultimo checkpoint de workerId en el store
+	 */
+	public PrimeFinderThread(int a, int b, PauseManager pauseManager, PrimeStore store, int workerId) {
+		this(a, b, pauseManager, store, workerId, PrimeEngine.forRange(a, b));
+	}
+
+	/**
+	 * @param store almacenamiento persistente, o null para guardar los primos en memoria
+	 * @param engine estrategia de prueba de primalidad
+	 */
+	public PrimeFinderThread(int a, int b, PauseManager pauseManager, PrimeStore store, int workerId,
+			PrimeEngine engine) {
 		super();
-        this.primes = new LinkedList<>();
+		this.primes = store == null ? new LinkedList<>() : null;
 		this.a = a;
 		this.b = b;
 		this.pauseManager = pauseManager;
+		this.store = store;
+		this.workerId = workerId;
+		this.engine = engine;
+		this.cursor = a;
 	}
 
     @Override
 	public void run(){
-        for (int i = a; i < b; i++){
+        int start = a;
+        if (store != null) {
+            int saved = store.cursor(workerId);
+            if (saved > a) {
+                start = Math.min(saved, b);
+                this.cursor = start;
+                // Lo que ya estaba escrito antes del checkpoint cuenta como encontrado
+                resumedCount = store.primeCount(a, start);
+                primeCount = resumedCount;
+            }
+        }
+        for (int lo = start; lo < b; lo += Math.min(CHUNK, b - lo)){
             // Punto de sincronización crítico:
-            // Verifica si debe pausarse y espera si es necesario
+            // Verifica si debe pausarse y espera si es necesario (una vez por bloque)
             pauseManager.checkPause();
-            
-            if (isPrime(i)){
-                primes.add(i);
+
+            int hi = lo + Math.min(CHUNK, b - lo);
+            ChunkEvent event = new ChunkEvent();
+            event.begin();
+            int before = primeCount;
+            engine.scan(lo, hi, this::record);
+            cursor = hi;
+            if (event.shouldCommit()) {
+                event.worker = getName();
+                event.from = lo;
+                event.to = hi;
+                event.primes = primeCount - before;
+                event.engine = engine.name();
+                event.commit();
+            }
+
+            if (store != null && ((hi - start) % CHECKPOINT_INTERVAL == 0 || hi == b)) {
+                store.checkpoint(workerId, hi);
             }
         }
 	}
-	
+
+	private void record(int n) {
+		if (store != null) {
+			store.markPrime(n);
+		} else {
+			primes.add(n);
+		}
+		primeCount++;
+	}
+
 	/**
-	 * Determina si un número es primo
-	 * Algoritmo simple pero efectivo
+	 * Primos encontrados en memoria. Vacia si el trabajador escribe en un PrimeStore.
 	 */
-	private boolean isPrime(int n) {
-	    boolean ans;
-            if (n > 2) { 
-                ans = n%2 != 0;
-                for(int i = 3; ans && i*i <= n; i+=2 ) {
-                    ans = n % i != 0;
-                }
-            } else {
-                ans = n == 2;
-            }
-	    return ans;
+	public List<Integer> getPrimes() {
+		return primes != null ? primes : List.of();
 	}
 
-	public List<Integer> getPrimes() {
-		return primes;
+	/**
+	 * Cantidad de numeros del rango ya evaluados
+	 */
+	public int getProcessed() {
+		return cursor - a;
 	}
-	
+
+	/**
+	 * Cantidad de primos encontrados (incluye los recuperados del checkpoint)
+	 */
+	public int getPrimeCount() {
+		return primeCount;
+	}
+
+	/**
+	 * Primos recuperados del checkpoint al arrancar (0 si no se reanudo)
+	 */
+	public int getResumedCount() {
+		return resumedCount;
+	}
+
 }
@@ -0,0 +1,181 @@
+package co.eci.primefinder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * PrimeIndex: Servicio de consultas sobre los resultados de un PrimeStore
+ *
+ * Indice de dos niveles sobre el bitset:
+ * - blockPrefix[k]: cantidad de primos menores que k * BLOCK (un int por cada 64K numeros)
+ * - subCounts[j]: primos desde el inicio del bloque hasta el sub-bloque j
+ *   (un char por cada 512 numeros, nunca supera 65536)
+ * Una consulta hace a lo sumo 8 popcounts sobre las palabras del bitset.
+ *
+ * primeCount(a, b) pasa ademas por una pequeña cache LRU de rangos repetidos.
+ * El indice refleja el contenido del store al momento de construirlo, asi que
+ * debe construirse cuando la corrida de Control ya termino.
+ */
+public final class PrimeIndex {
+
+    static final int BLOCK_BITS = 16;
+    static final int SUB_BITS = 9;
+    private static final int WORDS_PER_SUB = 1 << (SUB_BITS - 6);
+
+    private final PrimeStore store;
+    private final int limit;
+    private final int[] blockPrefix;
+    private final char[] subCounts;
+    private final RangeCache cache;
+
+    private PrimeIndex(PrimeStore store, int cacheSize) {
+        this.store = store;
+        this.limit = store.maxValue() + 1;
+        int subs = (store.wordCount() + WORDS_PER_SUB - 1) / WORDS_PER_SUB;
+        this.subCounts = new char[subs];
+        this.blockPrefix = new int[(subs >>> (BLOCK_BITS - SUB_BITS)) + 2];
+        int total = 0;
+        int inBlock = 0;
+        for (int s = 0; s < subs; s++) {
+            if ((s & ((1 << (BLOCK_BITS - SUB_BITS)) - 1)) == 0) {
+                blockPrefix[s >>> (BLOCK_BITS - SUB_BITS)] = total;
+                inBlock = 0;
+            }
+            subCounts[s] = (char) inBlock;
+            int end = Math.min((s + 1) * WORDS_PER_SUB, store.wordCount());
+            for (int w = s * WORDS_PER_SUB; w < end; w++) {
+                int c = Long.bitCount(store.word(w));
+                inBlock += c;
+                total += c;
+            }
+        }
+        for (int k = (subs + (1 << (BLOCK_BITS - SUB_BITS)) - 1) >>> (BLOCK_BITS - SUB_BITS); k < blockPrefix.length; k++) {
+            blockPrefix[k] = total;
+        }
+        this.cache = cacheSize > 0 ? new RangeCache(cacheSize) : null;
+    }
+
+    public static PrimeIndex build(PrimeStore store) {
+        return build(store, 256);
+    }
+
+    /**
+     * @param cacheSize rangos recordados por la cache LRU de primeCount (0 = sin cache)
+     */
+    public static PrimeIndex build(PrimeStore store, int cacheSize) {
+        return new PrimeIndex(store, cacheSize);
+    }
+
+    /**
+     * Mayor valor consultable + 1
+     */
+    public int limit() {
+        return limit;
+    }
+
+    public int totalPrimes() {
+        return primePi(limit);
+    }
+
+    public boolean isPrime(int n) {
+        return store.isPrime(n);
+    }
+
+    /**
+     * Cantidad de primos menores que x, para 0 <= x <= limit()
+     */
+    public int primePi(int x) {
+        if (x <= 0) return 0;
+        if (x > limit) throw new IndexOutOfBoundsException("x=" + x + " > " + limit);
+        int word = x >>> 6;
+        int sub = word >>> (SUB_BITS - 6);
+        if (sub >= subCounts.length) {
+            return blockPrefix[blockPrefix.length - 1];
+        }
+        int count = blockPrefix[x >>> BLOCK_BITS] + subCounts[sub];
+        for (int w = sub * WORDS_PER_SUB; w < word; w++) {
+            count += Long.bitCount(store.word(w));
+        }
+        if ((x & 63) != 0) {
+            count += Long.bitCount(store.word(word) & ((1L << x) - 1));
+        }
+        return count;
+    }
+
+    /**
+     * Cantidad de primos en [a, b)
+     */
+    public int primeCount(int a, int b) {
+        if (a >= b) return 0;
+        if (a < 0 || b > limit) {
+            throw new IndexOutOfBoundsException("[" + a + ", " + b + ") outside [0, " + limit + ")");
+        }
+        if (cache == null) {
+            return primePi(b) - primePi(a);
+        }
+        long key = ((long) a << 32) | (b & 0xFFFFFFFFL);
+        Integer cached = cache.get(key);
+        if (cached != null) return cached;
+        int count = primePi(b) - primePi(a);
+        cache.put(key, count);
+        return count;
+    }
+
+    /**
+     * El k-esimo primo (k = 1 -> 2), o -1 si el store tiene menos de k primos
+     */
+    public int nthPrime(int k) {
+        if (k <= 0) throw new IllegalArgumentException("k must be >= 1");
+        if (k > blockPrefix[blockPrefix.length - 1]) return -1;
+        // Ultimo bloque con menos de k primos antes de su inicio
+        int lo = 0, hi = blockPrefix.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (blockPrefix[mid] < k) lo = mid; else hi = mid - 1;
+        }
+        int rank = k - blockPrefix[lo];
+        // Ultimo sub-bloque del bloque con menos de rank primos antes de su inicio
+        int firstSub = lo << (BLOCK_BITS - SUB_BITS);
+        int lastSub = Math.min(firstSub + (1 << (BLOCK_BITS - SUB_BITS)), subCounts.length) - 1;
+        int s = firstSub;
+        int e = lastSub;
+        while (s < e) {
+            int mid = (s + e + 1) >>> 1;
+            if (subCounts[mid] < rank) s = mid; else e = mid - 1;
+        }
+        rank -= subCounts[s];
+        for (int w = s * WORDS_PER_SUB; ; w++) {
+            long bits = store.word(w);
+            int c = Long.bitCount(bits);
+            if (rank <= c) {
+                for (int r = 1; r < rank; r++) bits &= bits - 1;
+                return (w << 6) + Long.numberOfTrailingZeros(bits);
+            }
+            rank -= c;
+        }
+    }
+
+    /**
+     * Cache LRU de rangos: LinkedHashMap en orden de acceso, protegida por su propio monitor
+     */
+    private static final class RangeCache {
+        private final Map<Long, Integer> entries;
+
+        RangeCache(int capacity) {
+            this.entries = new LinkedHashMap<>(capacity * 2, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Integer> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        synchronized Integer get(long key) {
+            return entries.get(key);
+        }
+
+        synchronized void put(long key, int value) {
+            entries.put(key, value);
+        }
+    }
+}
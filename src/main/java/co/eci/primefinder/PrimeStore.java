@@ -0,0 +1,238 @@
+package co.eci.primefinder;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * PrimeStore: Almacenamiento persistente de resultados en un archivo mapeado en memoria
+ *
+ * Formato del archivo:
+ * - Cabecera (HEADER_BYTES): magic, version, maxValue, numero de trabajadores
+ *   y el cursor (checkpoint) de cada trabajador
+ * - Bitset: un bit por numero en [0, maxValue], 1 = primo
+ *
+ * Características:
+ * - Los trabajadores escriben directamente en el archivo via FileChannel.map (no en el heap)
+ * - Los bits se escriben con getAndBitwiseOr atomico, porque dos trabajadores
+ *   pueden compartir la palabra de 64 bits que esta en el borde de sus rangos
+ * - El cursor se publica con setRelease DESPUES de escribir los bits, asi todo lo
+ *   que esta por debajo del cursor es definitivo y una corrida reiniciada puede
+ *   continuar desde ahi
+ * - isPrime(n) y primeCount(a, b) se responden leyendo el bitset mapeado
+ */
+public final class PrimeStore implements AutoCloseable {
+
+    private static final long MAGIC = 0x5052494D45534554L; // "PRIMESET"
+    private static final int VERSION = 1;
+    private static final int MAX_WORKERS = 500;
+    static final int HEADER_BYTES = 4096;
+
+    private static final int OFF_MAGIC = 0;
+    private static final int OFF_VERSION = 8;
+    private static final int OFF_WORKERS = 12;
+    private static final int OFF_MAXVALUE = 16;
+    private static final int OFF_CURSORS = 24;
+
+    private static final VarHandle LONGS =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int maxValue;
+    private final int workers;
+
+    private PrimeStore(FileChannel channel, MappedByteBuffer buffer, int maxValue, int workers) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.buffer.order(ByteOrder.LITTLE_ENDIAN);
+        this.maxValue = maxValue;
+        this.workers = workers;
+    }
+
+    /**
+     * Abre el archivo si ya existe (para reanudar) o lo crea vacio.
+     * Si existe, debe haber sido creado con el mismo maxValue y numero de trabajadores.
+     */
+    public static PrimeStore open(Path file, int maxValue, int workers) throws IOException {
+        if (maxValue < 0) throw new IllegalArgumentException("maxValue must be >= 0");
+        if (workers <= 0 || workers > MAX_WORKERS) {
+            throw new IllegalArgumentException("workers must be in [1, " + MAX_WORKERS + "]");
+        }
+        FileChannel ch = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            boolean fresh = ch.size() == 0;
+            long size = HEADER_BYTES + wordsFor(maxValue) * 8L;
+            if (!fresh) {
+                // Se valida antes de mapear en escritura: mapear mas alla del final extiende el archivo
+                MappedByteBuffer head = readHeader(ch, file);
+                if (head.getLong(OFF_MAXVALUE) != maxValue || head.getInt(OFF_WORKERS) != workers) {
+                    throw new IOException("Prime store was created for maxValue=" + head.getLong(OFF_MAXVALUE)
+                            + " workers=" + head.getInt(OFF_WORKERS));
+                }
+                checkSize(ch, size, file);
+            }
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            PrimeStore store = new PrimeStore(ch, buf, maxValue, workers);
+            if (fresh) store.writeHeader();
+            return store;
+        } catch (IOException | RuntimeException e) {
+            ch.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Abre un archivo existente solo para consultas (isPrime, primeCount)
+     */
+    public static PrimeStore openReadOnly(Path file) throws IOException {
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            MappedByteBuffer head = readHeader(ch, file);
+            int workers = head.getInt(OFF_WORKERS);
+            int maxValue = (int) head.getLong(OFF_MAXVALUE);
+            long size = HEADER_BYTES + wordsFor(maxValue) * 8L;
+            checkSize(ch, size, file);
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return new PrimeStore(ch, buf, maxValue, workers);
+        } catch (IOException | RuntimeException e) {
+            ch.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Mapea solo la cabecera, en lectura, y verifica magic y version.
+     * Un archivo mas corto que la cabecera no es un store y no se toca
+     */
+    private static MappedByteBuffer readHeader(FileChannel ch, Path file) throws IOException {
+        if (ch.size() < HEADER_BYTES) throw new IOException("Not a prime store: " + file);
+        MappedByteBuffer head = ch.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+        head.order(ByteOrder.LITTLE_ENDIAN);
+        if (head.getLong(OFF_MAGIC) != MAGIC || head.getInt(OFF_VERSION) != VERSION) {
+            throw new IOException("Not a prime store: " + file);
+        }
+        return head;
+    }
+
+    private static void checkSize(FileChannel ch, long size, Path file) throws IOException {
+        if (ch.size() < size) {
+            throw new IOException("Prime store is truncated: " + file + " has " + ch.size() + " of " + size + " bytes");
+        }
+    }
+
+    private static long wordsFor(int maxValue) {
+        return ((long) maxValue >> 6) + 1;
+    }
+
+    private void writeHeader() {
+        buffer.putLong(OFF_MAGIC, MAGIC);
+        buffer.putInt(OFF_VERSION, VERSION);
+        buffer.putInt(OFF_WORKERS, workers);
+        buffer.putLong(OFF_MAXVALUE, maxValue);
+        for (int w = 0; w < workers; w++) {
+            LONGS.setRelease(buffer, cursorOffset(w), -1L);
+        }
+    }
+
+    private static int cursorOffset(int worker) {
+        return OFF_CURSORS + worker * 8;
+    }
+
+    private static int wordOffset(int n) {
+        return HEADER_BYTES + (n >>> 6) * 8;
+    }
+
+    public int maxValue() {
+        return maxValue;
+    }
+
+    public int workers() {
+        return workers;
+    }
+
+    /**
+     * Marca n como primo. Seguro para llamadas concurrentes.
+     */
+    public void markPrime(int n) {
+        LONGS.getAndBitwiseOr(buffer, wordOffset(n), 1L << n);
+    }
+
+    /**
+     * Publica el checkpoint de un trabajador: todos los numeros por debajo de
+     * cursor en su rango ya fueron evaluados y escritos.
+     */
+    public void checkpoint(int worker, int cursor) {
+        LONGS.setRelease(buffer, cursorOffset(worker), (long) cursor);
+    }
+
+    /**
+     * Ultimo checkpoint del trabajador, o -1 si nunca ha avanzado
+     */
+    public int cursor(int worker) {
+        return (int) (long) LONGS.getAcquire(buffer, cursorOffset(worker));
+    }
+
+    /**
+     * Fuerza la escritura de las paginas modificadas al disco
+     */
+    public void force() {
+        buffer.force();
+    }
+
+    public boolean isPrime(int n) {
+        checkRange(n);
+        long word = (long) LONGS.getAcquire(buffer, wordOffset(n));
+        return (word & (1L << n)) != 0;
+    }
+
+    /**
+     * Cantidad de primos en [a, b) usando popcount sobre las palabras del bitset
+     */
+    public int primeCount(int a, int b) {
+        if (a >= b) return 0;
+        checkRange(a);
+        checkRange(b - 1);
+        int first = a >>> 6;
+        int last = (b - 1) >>> 6;
+        long lowMask = -1L << a;
+        long highMask = -1L >>> (63 - ((b - 1) & 63));
+        if (first == last) {
+            return Long.bitCount(word(first) & lowMask & highMask);
+        }
+        int count = Long.bitCount(word(first) & lowMask);
+        for (int w = first + 1; w < last; w++) {
+            count += Long.bitCount(word(w));
+        }
+        return count + Long.bitCount(word(last) & highMask);
+    }
+
+    /**
+     * Palabra i del bitset (64 numeros a partir de i*64)
+     */
+    long word(int i) {
+        return (long) LONGS.getAcquire(buffer, HEADER_BYTES + i * 8);
+    }
+
+    int wordCount() {
+        return (int) wordsFor(maxValue);
+    }
+
+    private void checkRange(int n) {
+        if (n < 0 || n > maxValue) {
+            throw new IndexOutOfBoundsException("n=" + n + " outside [0, " + maxValue + "]");
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (buffer.isDirect() && !buffer.isReadOnly()) buffer.force();
+        channel.close();
+    }
+}
@@ -1,10 +1,19 @@
 package co.eci.snake.app;
 
+import co.eci.snake.net.BotClient;
 import co.eci.snake.ui.legacy.SnakeApp;
 
+import java.util.Arrays;
+
 public final class Main {
   private Main() {}
-  public static void main(String[] args) {
-    SnakeApp.launch();
+  public static void main(String[] args) throws Exception {
+    String mode = args.length > 0 ? args[0] : System.getProperty("mode", "ui");
+    String[] rest = args.length > 0 ? Arrays.copyOfRange(args, 1, args.length) : args;
+    switch (mode) {
+      case "server" -> ServerMain.main(rest);
+      case "bot" -> BotClient.main(rest);
+      default -> SnakeApp.launch();
+    }
   }
 }
@@ -0,0 +1,67 @@
+package co.eci.snake.app;
+
+import co.eci.snake.concurrency.SnakeRunner;
+import co.eci.snake.core.Board;
+import co.eci.snake.core.Direction;
+import co.eci.snake.core.GameController;
+import co.eci.snake.core.Snake;
+import co.eci.snake.core.SpawnPolicy;
+import co.eci.snake.core.engine.GameClock;
+import co.eci.snake.net.GameServer;
+import co.eci.snake.shm.WorldExporter;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+/**
+ * Headless server mode: {@code -Dsnakes=N -Dport=7777 -Dtick=50}. Snakes run on virtual threads
+ * exactly as in the Swing game; remote players steer them through {@link GameServer}.
+ * A {@link GameClock} places queued item spawns every tick and, with {@code -Dshm=file}, also
+ * publishes the tick to a {@link WorldExporter} file.
+ */
+public final class ServerMain {
+  private ServerMain() {}
+
+  public static void main(String[] args) throws Exception {
+    var board = new Board(Integer.getInteger("width", 35), Integer.getInteger("height", 28), null,
+        SpawnPolicy.fromSystemProperties());
+    int n = Integer.getInteger("snakes", 2);
+    List<Snake> snakes = new ArrayList<>();
+    for (int i = 0; i < n; i++) {
+      int x = 2 + (i * 3) % board.width();
+      int y = 2 + (i * 2) % board.height();
+      snakes.add(Snake.of(i, x, y, Direction.values()[i % Direction.values().length]));
+    }
+    var controller = new GameController(snakes);
+
+    long tick = Long.getLong("tick", 50L);
+    String shm = System.getProperty("shm");
+    // Everything that can fail is opened before the first runner starts: the runners only stop on
+    // interrupt, so a failure after submitting them must never reach the executor's close() first
+    try (var server = new GameServer(board, snakes, Integer.getInteger("port", 7777), tick);
+         var exporter = shm != null && !shm.isBlank() ? new WorldExporter(Path.of(shm), board, snakes) : null;
+         // Tick-end phase: place queued item spawns, then publish the tick
+         var clock = new GameClock(tick, () -> {
+           board.spawnPending();
+           if (exporter != null) exporter.publish();
+         })) {
+      var executor = Executors.newVirtualThreadPerTaskExecutor();
+      try {
+        snakes.forEach(s -> executor.submit(new SnakeRunner(s, board, controller)));
+        controller.start();
+        clock.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(clock::close));
+        System.out.println("Snake server listening on port " + server.port() + " with " + n + " snakes");
+        var io = new Thread(server, "snake-server-io");
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+        io.start();
+        io.join();
+      } finally {
+        executor.shutdownNow();
+        executor.close();
+      }
+    }
+  }
+}
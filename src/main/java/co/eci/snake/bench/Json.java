@@ -0,0 +1,32 @@
+package co.eci.snake.bench;
+
+import java.util.Locale;
+
+/** Scalar formatting for the hand-written JSON reports of the benchmark harnesses. */
+final class Json {
+  private Json() {}
+
+  /** Fixed six decimals, locale-independent; NaN and infinities have no JSON number and become {@code null}. */
+  static String number(double v) {
+    return Double.isFinite(v) ? String.format(Locale.ROOT, "%.6f", v) : "null";
+  }
+
+  static String quote(String s) {
+    var sb = new StringBuilder(s.length() + 2).append('"');
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+      switch (c) {
+        case '"' -> sb.append("\\\"");
+        case '\\' -> sb.append("\\\\");
+        case '\n' -> sb.append("\\n");
+        case '\r' -> sb.append("\\r");
+        case '\t' -> sb.append("\\t");
+        default -> {
+          if (c < 0x20) sb.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+          else sb.append(c);
+        }
+      }
+    }
+    return sb.append('"').toString();
+  }
+}
@@ -0,0 +1,199 @@
+package co.eci.snake.bench;
+
+import co.eci.snake.concurrency.SnakeRunner;
+import co.eci.snake.core.Board;
+import co.eci.snake.core.Direction;
+import co.eci.snake.core.GameController;
+import co.eci.snake.core.Snake;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the game loop on many virtual threads and exits with status 1 if any of them pinned its
+ * carrier. Meant to be run as {@code java -Djdk.tracePinnedThreads=full ...} (the {@code pinning}
+ * Maven profile does this). These sources are watched:
+ * <ul>
+ *   <li>the JDK's pinned-thread traces, counted as they are printed, and the
+ *       {@code jdk.VirtualThreadPinned} JFR event: a virtual thread parked while holding a monitor</li>
+ *   <li>{@code jdk.JavaMonitorEnter} from a virtual thread: on Java 21 a virtual thread blocked
+ *       entering a contended monitor also pins its carrier, and neither signal above reports it</li>
+ * </ul>
+ * Contended enters inside {@code ClassLoader.loadClass} are the JDK's class-loading locks, hit once
+ * when thousands of threads reach a class first; they are reported but do not fail the check.
+ * Monitor contention between virtual threads needs more than one carrier, so unless
+ * {@code jdk.virtualThreadScheduler.parallelism} is given the check uses at least four.
+ *
+ * <p>Besides the runners it drives the other shared paths: a spectator copying the board and
+ * every snake frame like the server encoder, the tick-end spawn phase, and producers enqueueing
+ * turns like key bindings.
+ * {@code -Dsnakes=2000 -Dseconds=5}.
+ */
+public final class PinningCheck {
+  private static final String PINNED_MARKER = "<== monitors:";
+  private static final String PARALLELISM = "jdk.virtualThreadScheduler.parallelism";
+
+  private PinningCheck() {}
+
+  public static void main(String[] args) throws Exception {
+    // Read once when the first virtual thread is created, so it must be set before any
+    if (System.getProperty(PARALLELISM) == null) {
+      System.setProperty(PARALLELISM, Integer.toString(Math.max(4, Runtime.getRuntime().availableProcessors())));
+    }
+    int n = Integer.getInteger("snakes", 2000);
+    long seconds = Long.getLong("seconds", 5L);
+    if (System.getProperty("jdk.tracePinnedThreads") == null) {
+      System.out.println("warning: -Djdk.tracePinnedThreads not set, relying on JFR events only");
+    }
+
+    var traced = new AtomicLong();
+    var stdout = System.out;
+    System.setOut(new PrintStream(new MarkerCounter(stdout, traced), true, StandardCharsets.UTF_8));
+
+    var events = new AtomicLong();
+    var blocked = new AtomicLong();
+    var classLoading = new AtomicLong();
+    try (var rs = new RecordingStream()) {
+      rs.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+      rs.enable("jdk.JavaMonitorEnter").withThreshold(Duration.ZERO).withStackTrace();
+      rs.onEvent("jdk.VirtualThreadPinned", e -> {
+        if (events.getAndIncrement() < 5) stdout.println("pinned: " + e);
+      });
+      rs.onEvent("jdk.JavaMonitorEnter", e -> {
+        if (e.getThread() == null || !e.getThread().isVirtual()) return;
+        if (isClassLoading(e)) {
+          classLoading.incrementAndGet();
+        } else if (blocked.getAndIncrement() < 5) {
+          stdout.println("blocked on monitor: " + e);
+        }
+      });
+      rs.startAsync();
+
+      run(n, seconds);
+
+      rs.stop();
+    } finally {
+      System.setOut(stdout);
+    }
+
+    stdout.printf("snakes=%d seconds=%d carriers=%s pinned(trace)=%d pinned(jfr)=%d monitorEnter(virtual)=%d"
+            + " monitorEnter(classLoading)=%d%n", n, seconds, System.getProperty(PARALLELISM),
+        traced.get(), events.get(), blocked.get(), classLoading.get());
+    if (traced.get() > 0 || events.get() > 0 || blocked.get() > 0) {
+      stdout.println("FAIL: virtual threads pinned their carrier");
+      System.exit(1);
+    }
+    stdout.println("OK: no pinning");
+  }
+
+  private static boolean isClassLoading(RecordedEvent e) {
+    var stack = e.getStackTrace();
+    if (stack == null) return false;
+    for (RecordedFrame f : stack.getFrames()) {
+      var m = f.getMethod();
+      if (m.getName().equals("loadClass") && m.getType().getName().equals("java.lang.ClassLoader")) return true;
+    }
+    return false;
+  }
+
+  private static void run(int n, long seconds) throws InterruptedException {
+    int side = Math.max(35, (int) Math.ceil(Math.sqrt(n * 8.0)));
+    var board = new Board(side, side);
+    List<Snake> snakes = new ArrayList<>(n);
+    var dirs = Direction.values();
+    for (int i = 0; i < n; i++) {
+      snakes.add(Snake.of(i, (i * 7) % side, (i * 13) % side, dirs[i % dirs.length]));
+    }
+    var controller = new GameController(snakes);
+
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      snakes.forEach(s -> executor.submit(new SnakeRunner(s, board, controller)));
+      executor.submit(() -> spectate(board, snakes));
+      executor.submit(() -> spawn(board));
+      for (int p = 0; p < 4; p++) executor.submit(() -> steer(snakes));
+      controller.start();
+      Thread.sleep(seconds * 500);
+      controller.pause();
+      Thread.sleep(200);
+      controller.resume();
+      Thread.sleep(seconds * 500);
+      executor.shutdownNow();
+    }
+  }
+
+  private static void spectate(Board board, List<Snake> snakes) {
+    byte[] cells = new byte[board.width() * board.height()];
+    while (!Thread.currentThread().isInterrupted()) {
+      board.itemGrid(cells);
+      board.mice();
+      for (var s : snakes) s.frame();
+      Thread.yield();
+    }
+  }
+
+  private static void spawn(Board board) {
+    try {
+      while (!Thread.currentThread().isInterrupted()) {
+        board.spawnPending();
+        Thread.sleep(50);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void steer(List<Snake> snakes) {
+    var rnd = ThreadLocalRandom.current();
+    var dirs = Direction.values();
+    try {
+      while (!Thread.currentThread().isInterrupted()) {
+        snakes.get(rnd.nextInt(snakes.size())).enqueueTurn(dirs[rnd.nextInt(dirs.length)]);
+        Thread.sleep(1);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Passes output through and counts the frames the JDK marks as holding a monitor while parked.
+   * Writes are already serialized by the wrapping {@link PrintStream}.
+   */
+  private static final class MarkerCounter extends FilterOutputStream {
+    private final AtomicLong count;
+    private final StringBuilder line = new StringBuilder();
+
+    MarkerCounter(OutputStream out, AtomicLong count) {
+      super(out);
+      this.count = count;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      out.write(b);
+      if (b == '\n') {
+        if (line.indexOf(PINNED_MARKER) >= 0) count.incrementAndGet();
+        line.setLength(0);
+      } else if (line.length() < 512) {
+        line.append((char) b);
+      }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      for (int i = off; i < off + len; i++) write(b[i]);
+    }
+  }
+}
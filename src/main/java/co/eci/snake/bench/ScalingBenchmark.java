@@ -0,0 +1,131 @@
+package co.eci.snake.bench;
+
+import co.eci.snake.core.Board;
+import co.eci.snake.core.Direction;
+import co.eci.snake.core.Snake;
+import co.eci.snake.core.metrics.LatencyHistogram;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import static co.eci.snake.bench.Json.number;
+import static co.eci.snake.bench.Json.quote;
+
+/**
+ * Steps a growing number of snakes, one virtual thread each, on a shared board and reports how
+ * close the aggregate step rate gets to the ideal {@code snakes * 1000 / tick}. With the board and
+ * snakes free of monitors, the rate should keep growing well past the number of carriers until
+ * the CPU, not pinning, is the limit.
+ *
+ * <p>{@code -Dsizes=10,100,1000,10000,100000 -Dtick=50 -Dseconds=5}. The board grows with the
+ * population (about 8 cells per snake) so density, and therefore write-lock traffic, stays similar.
+ * With {@code -Dreport=file} the table is also written there as JSON, formatted like the soak report.
+ */
+public final class ScalingBenchmark {
+  record Row(int snakes, double stepsPerSecond, double idealStepsPerSecond, double stepP50Micros,
+             double stepP99Micros, double turnP99Millis, double spawnP99Millis, long heapMegabytes) {}
+
+  private ScalingBenchmark() {}
+
+  public static void main(String[] args) throws InterruptedException, IOException {
+    int[] sizes = Arrays.stream(System.getProperty("sizes", "10,100,1000,10000,100000").split(","))
+        .map(String::trim).mapToInt(Integer::parseInt).toArray();
+    long tick = Long.getLong("tick", 50L);
+    long seconds = Long.getLong("seconds", 5L);
+
+    System.out.printf("carriers=%d tick=%dms seconds=%d%n", Runtime.getRuntime().availableProcessors(), tick, seconds);
+    System.out.printf("%8s %12s %12s %8s %10s %10s %10s %10s %8s%n",
+        "snakes", "steps/s", "ideal/s", "eff%", "step p50", "step p99", "turn p99", "spawn p99", "heapMB");
+    List<Row> rows = new ArrayList<>();
+    for (int n : sizes) rows.add(run(n, tick, seconds));
+
+    String report = System.getProperty("report");
+    if (report != null && !report.isBlank()) {
+      Path out = Path.of(report);
+      if (out.getParent() != null) Files.createDirectories(out.getParent());
+      Files.writeString(out, toJson(tick, seconds, rows));
+      System.out.println("report: " + out.toAbsolutePath());
+    }
+  }
+
+  private static Row run(int n, long tick, long seconds) throws InterruptedException {
+    int side = Math.max(35, (int) Math.ceil(Math.sqrt(n * 8.0)));
+    var board = new Board(side, side);
+    var dirs = Direction.values();
+    List<Snake> snakes = new ArrayList<>(n);
+    for (int i = 0; i < n; i++) {
+      snakes.add(Snake.of(i, (i * 7) % side, (i * 13) % side, dirs[i % dirs.length]));
+    }
+
+    var steps = new LongAdder();
+    var stepLatency = new LatencyHistogram();
+    long warmupEnd = System.nanoTime() + 1_000_000_000L;
+    long end = warmupEnd + seconds * 1_000_000_000L;
+
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (var s : snakes) {
+        executor.submit(() -> {
+          var rnd = ThreadLocalRandom.current();
+          // Spread the first step over one tick so the snakes do not move in lockstep
+          Thread.sleep(rnd.nextLong(tick + 1));
+          long now;
+          while ((now = System.nanoTime()) < end) {
+            if (rnd.nextInt(10) == 0) s.enqueueTurn(dirs[rnd.nextInt(dirs.length)]);
+            board.step(s);
+            if (now >= warmupEnd) {
+              stepLatency.record(System.nanoTime() - now);
+              steps.increment();
+            }
+            Thread.sleep(tick);
+          }
+          return null;
+        });
+      }
+      // Tick-end spawn phase, as the game clock does it
+      while (System.nanoTime() < end) {
+        board.spawnPending();
+        Thread.sleep(tick);
+      }
+    }
+
+    double rate = steps.sum() / (double) seconds;
+    double ideal = n * 1000.0 / tick;
+    long heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() >> 20;
+    var row = new Row(n, rate, ideal, stepLatency.percentile(0.50) / 1e3, stepLatency.percentile(0.99) / 1e3,
+        board.turnLatency().percentile(0.99) / 1e6, board.spawnLatency().percentile(0.99) / 1e6, heap);
+    System.out.printf("%8d %12.0f %12.0f %8.1f %8.1fus %8.1fus %8.1fms %8.1fms %8d%n",
+        n, rate, ideal, 100 * rate / ideal, row.stepP50Micros(), row.stepP99Micros(),
+        row.turnP99Millis(), row.spawnP99Millis(), heap);
+    return row;
+  }
+
+  static String toJson(long tick, long seconds, List<Row> rows) {
+    var sb = new StringBuilder("{\n");
+    sb.append("  \"config\" : { \"tickMillis\" : ").append(tick)
+        .append(", \"seconds\" : ").append(seconds)
+        .append(", \"carriers\" : ").append(Runtime.getRuntime().availableProcessors())
+        .append(", \"javaVersion\" : ").append(quote(System.getProperty("java.version"))).append(" },\n");
+    sb.append("  \"runs\" : [");
+    for (int i = 0; i < rows.size(); i++) {
+      var r = rows.get(i);
+      sb.append(i > 0 ? ",\n" : "\n");
+      sb.append("    { \"snakes\" : ").append(r.snakes())
+          .append(", \"stepsPerSecond\" : ").append(number(r.stepsPerSecond()))
+          .append(", \"idealStepsPerSecond\" : ").append(number(r.idealStepsPerSecond()))
+          .append(", \"stepP50Micros\" : ").append(number(r.stepP50Micros()))
+          .append(", \"stepP99Micros\" : ").append(number(r.stepP99Micros()))
+          .append(", \"turnP99Millis\" : ").append(number(r.turnP99Millis()))
+          .append(", \"spawnP99Millis\" : ").append(number(r.spawnP99Millis()))
+          .append(", \"heapMegabytes\" : ").append(r.heapMegabytes()).append(" }");
+    }
+    return sb.append(rows.isEmpty() ? "]\n}\n" : "\n  ]\n}\n").toString();
+  }
+}
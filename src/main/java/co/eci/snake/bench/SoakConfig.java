@@ -0,0 +1,65 @@
+package co.eci.snake.bench;
+
+import java.util.Arrays;
+
+/**
+ * Parameters of a {@link SoakHarness} run, read from {@code -Dsoak.*} and {@code -Dsla.*}.
+ *
+ * @param snakeCounts  one run per population, each with one bot player per snake
+ * @param warmupSeconds excluded from every measurement
+ * @param seconds       measured duration of each run
+ * @param stepMillis    pause between two steps of a snake, as {@code SnakeRunner} does
+ * @param turnsPerSecond mean turn rate of each bot; inter-arrival times are exponential
+ * @param report        JSON report path
+ * @param sla           thresholds; a run exceeding any of them fails the harness
+ */
+public record SoakConfig(int[] snakeCounts, long warmupSeconds, long seconds, long stepMillis,
+                         double turnsPerSecond, String report, Sla sla) {
+
+  /**
+   * Latencies are turn command to applied move. {@code minStepEfficiency} is measured steps/s
+   * over the ideal {@code snakes * 1000 / stepMillis}. GC limits are for the measured window.
+   * {@code maxLostTurnFraction} bounds the issued turns that were skipped, dropped or never
+   * accounted for, so the percentiles cannot pass by leaving turns out.
+   */
+  public record Sla(double p50Millis, double p99Millis, double p999Millis, double minStepEfficiency,
+                    double maxGcPauseMillis, double maxGcFraction, double maxLostTurnFraction) {}
+
+  public SoakConfig {
+    snakeCounts = snakeCounts.clone();
+    if (snakeCounts.length == 0 || Arrays.stream(snakeCounts).anyMatch(n -> n <= 0)) {
+      throw new IllegalArgumentException("snake counts must be > 0");
+    }
+    if (warmupSeconds < 0 || seconds <= 0) throw new IllegalArgumentException("durations must be positive");
+    if (stepMillis <= 0) throw new IllegalArgumentException("stepMillis must be > 0");
+    if (!(turnsPerSecond > 0)) throw new IllegalArgumentException("turnsPerSecond must be > 0");
+  }
+
+  @Override
+  public int[] snakeCounts() { return snakeCounts.clone(); }
+
+  public static SoakConfig fromSystemProperties() {
+    int[] counts = Arrays.stream(System.getProperty("soak.snakes", "10,100,1000").split(","))
+        .map(String::trim).mapToInt(Integer::parseInt).toArray();
+    var sla = new Sla(
+        doubleProperty("sla.p50Ms", 100),
+        doubleProperty("sla.p99Ms", 250),
+        doubleProperty("sla.p999Ms", 500),
+        doubleProperty("sla.minStepEfficiency", 0.8),
+        doubleProperty("sla.maxGcPauseMs", 200),
+        doubleProperty("sla.maxGcFraction", 0.05),
+        doubleProperty("sla.maxLostTurnFraction", 0.01));
+    return new SoakConfig(counts,
+        Long.getLong("soak.warmup", 5L),
+        Long.getLong("soak.seconds", 30L),
+        Long.getLong("soak.stepMs", 80L),
+        doubleProperty("soak.turnsPerSec", 2),
+        System.getProperty("soak.report", "target/soak/soak-report.json"),
+        sla);
+  }
+
+  private static double doubleProperty(String key, double def) {
+    String v = System.getProperty(key);
+    return v == null || v.isBlank() ? def : Double.parseDouble(v.trim());
+  }
+}
@@ -0,0 +1,347 @@
+package co.eci.snake.bench;
+
+import co.eci.snake.core.Board;
+import co.eci.snake.core.Direction;
+import co.eci.snake.core.Snake;
+import co.eci.snake.core.SpawnPolicy;
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import static co.eci.snake.bench.Json.number;
+import static co.eci.snake.bench.Json.quote;
+
+/**
+ * Soak test of the game core: for each population in {@code -Dsoak.snakes}, N snakes step on
+ * virtual threads while N synthetic bot players, one per snake, issue turns through
+ * {@link Snake#enqueueTurn} with exponential inter-arrival times. After a warmup it measures:
+ * <ul>
+ *   <li>turn latency p50/p99/p99.9/max, from the command to the move that applies it
+ *       ({@link Board#turnLatency()})</li>
+ *   <li>step throughput against the ideal {@code snakes * 1000 / stepMillis}</li>
+ *   <li>GC pauses during the window: count, total, longest and fraction of wall time</li>
+ *   <li>where every issued turn went: applied (a latency sample), blocked by an obstacle, skipped
+ *       as a repeat or reversal, dropped by a full queue, or still queued. Skipped, dropped and
+ *       unaccounted turns are lost samples and are bounded by {@code sla.maxLostTurnFraction}, so a
+ *       run cannot meet the latency SLA by losing its slow turns</li>
+ * </ul>
+ * The report goes to {@code -Dsoak.report} as JSON. Any {@link SoakConfig.Sla} violation is
+ * listed there and makes the process exit with status 1, so {@code mvn -Psoak verify} fails.
+ */
+public final class SoakHarness {
+  private static final long SPAWN_TICK_MILLIS = 50;
+
+  record Run(int snakes, double seconds, long steps, double stepsPerSecond, double idealStepsPerSecond,
+             long turnsIssued, long turnsApplied, long turnsSkipped, long turnsBlocked, long turnsDropped,
+             long turnsUnaccounted, double lostTurnFraction,
+             double p50Millis, double p99Millis, double p999Millis, double maxMillis, double spawnP99Millis,
+             long gcPauses, double gcPauseMillis, double gcMaxPauseMillis, double gcFraction,
+             List<String> violations) {}
+
+  private SoakHarness() {}
+
+  public static void main(String[] args) throws Exception {
+    var config = SoakConfig.fromSystemProperties();
+    System.out.printf("soak: warmup=%ds seconds=%ds step=%dms turns/s/bot=%.1f carriers=%d%n",
+        config.warmupSeconds(), config.seconds(), config.stepMillis(), config.turnsPerSecond(),
+        Runtime.getRuntime().availableProcessors());
+    System.out.printf("%8s %12s %7s %10s %10s %10s %8s %10s %8s %10s  %s%n",
+        "snakes", "steps/s", "eff%", "turn p50", "turn p99", "turn p999", "lost%", "gc max", "gc%", "spawn p99", "sla");
+
+    List<Run> runs = new ArrayList<>();
+    for (int n : config.snakeCounts()) {
+      var r = run(config, n);
+      runs.add(r);
+      System.out.printf("%8d %12.0f %7.1f %8.1fms %8.1fms %8.1fms %8.2f %8.1fms %8.2f %8.1fms  %s%n",
+          r.snakes(), r.stepsPerSecond(), 100 * r.stepsPerSecond() / r.idealStepsPerSecond(),
+          r.p50Millis(), r.p99Millis(), r.p999Millis(), 100 * r.lostTurnFraction(),
+          r.gcMaxPauseMillis(), 100 * r.gcFraction(),
+          r.spawnP99Millis(), r.violations().isEmpty() ? "ok" : String.join("; ", r.violations()));
+    }
+
+    Path out = Path.of(config.report());
+    if (out.getParent() != null) Files.createDirectories(out.getParent());
+    Files.writeString(out, toJson(config, runs));
+    System.out.println("Report: " + out.toAbsolutePath());
+
+    if (runs.stream().anyMatch(r -> !r.violations().isEmpty())) {
+      System.out.println("FAIL: SLA exceeded");
+      System.exit(1);
+    }
+  }
+
+  static Run run(SoakConfig config, int n) throws InterruptedException {
+    int side = Math.max(35, (int) Math.ceil(Math.sqrt(n * 8.0)));
+    var board = new Board(side, side, null, SpawnPolicy.fromSystemProperties());
+    var dirs = Direction.values();
+    List<Snake> snakes = new ArrayList<>(n);
+    for (int i = 0; i < n; i++) {
+      snakes.add(Snake.of(i, (i * 7) % side, (i * 13) % side, dirs[i % dirs.length]));
+    }
+
+    var steps = new LongAdder();
+    var turns = new LongAdder();
+    var gc = new GcPauses();
+    long seconds;
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (var s : snakes) {
+        executor.submit(() -> runSnake(board, s, config.stepMillis(), gc, steps));
+        executor.submit(() -> runBot(s, config.turnsPerSecond(), turns));
+      }
+      executor.submit(() -> runSpawner(board));
+
+      Thread.sleep(config.warmupSeconds() * 1000);
+      board.turnLatency().reset();
+      board.spawnLatency().reset();
+      var ledger0 = TurnLedger.of(board, snakes, turns);
+      gc.start();
+      long t0 = System.nanoTime();
+      Thread.sleep(config.seconds() * 1000);
+      gc.stop();
+      long elapsed = System.nanoTime() - t0;
+      var ledger = TurnLedger.of(board, snakes, turns).minus(ledger0);
+      executor.shutdownNow();
+
+      double secs = elapsed / 1e9;
+      var lat = board.turnLatency();
+      double rate = steps.sum() / secs;
+      double ideal = n * 1000.0 / config.stepMillis();
+      double gcFraction = gc.totalMillis() / (elapsed / 1e6);
+      var sla = config.sla();
+      List<String> violations = new ArrayList<>();
+      check(violations, "p50", lat.percentile(0.50) / 1e6, sla.p50Millis(), "ms");
+      check(violations, "p99", lat.percentile(0.99) / 1e6, sla.p99Millis(), "ms");
+      check(violations, "p999", lat.percentile(0.999) / 1e6, sla.p999Millis(), "ms");
+      check(violations, "gc max pause", gc.maxMillis(), sla.maxGcPauseMillis(), "ms");
+      check(violations, "gc fraction", gcFraction, sla.maxGcFraction(), "");
+      long unaccounted = ledger.unaccounted(lat.count());
+      double lost = ledger.lostFraction(lat.count());
+      check(violations, "lost turns", lost, sla.maxLostTurnFraction(), "");
+      if (rate / ideal < sla.minStepEfficiency()) {
+        violations.add(String.format(Locale.ROOT, "step efficiency %.3f < %.3f", rate / ideal, sla.minStepEfficiency()));
+      }
+      return new Run(n, secs, steps.sum(), rate, ideal, ledger.issued(), lat.count(), ledger.skipped(),
+          ledger.blocked(), ledger.dropped(), unaccounted, lost,
+          lat.percentile(0.50) / 1e6, lat.percentile(0.99) / 1e6, lat.percentile(0.999) / 1e6, lat.max() / 1e6,
+          board.spawnLatency().percentile(0.99) / 1e6,
+          gc.count(), gc.totalMillis(), gc.maxMillis(), gcFraction, List.copyOf(violations));
+    } finally {
+      gc.close();
+    }
+  }
+
+  private static void check(List<String> violations, String name, double value, double limit, String unit) {
+    if (value > limit) violations.add(String.format(Locale.ROOT, "%s %.3f%s > %.3f%s", name, value, unit, limit, unit));
+  }
+
+  /**
+   * Cumulative turn counters, read at the edges of the window and subtracted. Applied turns are not
+   * here: the latency histogram is reset when the window opens and counts them itself.
+   */
+  record TurnLedger(long issued, long skipped, long blocked, long dropped, long pending) {
+    static TurnLedger of(Board board, List<Snake> snakes, LongAdder issued) {
+      long skipped = 0, dropped = 0, pending = 0;
+      for (var s : snakes) {
+        skipped += s.skippedTurns();
+        dropped += s.droppedTurns();
+        pending += s.pendingTurns();
+      }
+      return new TurnLedger(issued.sum(), skipped, board.blockedTurns(), dropped, pending);
+    }
+
+    TurnLedger minus(TurnLedger start) {
+      return new TurnLedger(issued - start.issued, skipped - start.skipped, blocked - start.blocked,
+          dropped - start.dropped, pending - start.pending);
+    }
+
+    /**
+     * Issued turns with no outcome. Nonzero only by the few turns in flight while the counters are
+     * read, or if some path loses turns without counting them.
+     */
+    long unaccounted(long applied) {
+      return issued - applied - skipped - blocked - dropped - pending;
+    }
+
+    /**
+     * Issued turns that vanished instead of being applied. Blocked turns are not lost: they took
+     * effect and the step reported the obstacle, there was just no move to time.
+     */
+    double lostFraction(long applied) {
+      if (issued <= 0) return 0;
+      return (double) (skipped + dropped + Math.abs(unaccounted(applied))) / issued;
+    }
+  }
+
+  private static Void runSnake(Board board, Snake snake, long stepMillis, GcPauses window, LongAdder steps)
+      throws InterruptedException {
+    // Spread the first step over one period so the snakes do not move in lockstep
+    Thread.sleep(ThreadLocalRandom.current().nextLong(stepMillis + 1));
+    var dirs = Direction.values();
+    while (!Thread.currentThread().isInterrupted()) {
+      // Like SnakeRunner, a snake that hits an obstacle picks a random direction to get unstuck
+      if (board.step(snake) == Board.MoveResult.HIT_OBSTACLE) {
+        snake.turn(dirs[ThreadLocalRandom.current().nextInt(dirs.length)]);
+      }
+      if (window.measuring()) steps.increment();
+      Thread.sleep(stepMillis);
+    }
+    return null;
+  }
+
+  /**
+   * A player: waits an exponential time, then turns left or right of its heading. Like a person
+   * pressing keys, it steers from the last turn it sent while that turn is still queued, so its
+   * own commands are never repeats or reversals of each other.
+   */
+  private static Void runBot(Snake snake, double turnsPerSecond, LongAdder turns)
+      throws InterruptedException {
+    var rnd = ThreadLocalRandom.current();
+    double meanMillis = 1000.0 / turnsPerSecond;
+    Direction sent = null;
+    while (!Thread.currentThread().isInterrupted()) {
+      Thread.sleep((long) (-Math.log(1 - rnd.nextDouble()) * meanMillis));
+      var d = sent != null && snake.pendingTurns() > 0 ? sent : snake.direction();
+      boolean vertical = d == Direction.UP || d == Direction.DOWN;
+      var turn = vertical ? (rnd.nextBoolean() ? Direction.LEFT : Direction.RIGHT)
+          : (rnd.nextBoolean() ? Direction.UP : Direction.DOWN);
+      // Counted before the offer so a turn is never seen applied before it was issued
+      turns.increment();
+      if (snake.enqueueTurn(turn)) sent = turn;
+    }
+    return null;
+  }
+
+  private static Void runSpawner(Board board) throws InterruptedException {
+    while (!Thread.currentThread().isInterrupted()) {
+      board.spawnPending();
+      Thread.sleep(SPAWN_TICK_MILLIS);
+    }
+    return null;
+  }
+
+  /**
+   * Stop-the-world pauses reported through GC notifications while the window is open. Beans that
+   * report concurrent cycles rather than pauses (G1 Concurrent GC, ZGC Cycles, ...) are ignored.
+   */
+  static final class GcPauses implements NotificationListener, AutoCloseable {
+    private final List<NotificationEmitter> emitters = new ArrayList<>();
+    private volatile boolean measuring;
+    private long count;
+    private double totalMillis;
+    private double maxMillis;
+
+    GcPauses() {
+      for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+        if (bean instanceof NotificationEmitter e) {
+          e.addNotificationListener(this, null, null);
+          emitters.add(e);
+        }
+      }
+    }
+
+    void start() { measuring = true; }
+    void stop() { measuring = false; }
+    boolean measuring() { return measuring; }
+
+    @Override
+    public synchronized void handleNotification(Notification n, Object handback) {
+      if (!measuring || !GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(n.getType())) return;
+      var info = GarbageCollectionNotificationInfo.from((CompositeData) n.getUserData());
+      String name = info.getGcName();
+      if (name.contains("Concurrent") || name.contains("Cycles")) return;
+      double ms = info.getGcInfo().getDuration();
+      count++;
+      totalMillis += ms;
+      maxMillis = Math.max(maxMillis, ms);
+    }
+
+    synchronized long count() { return count; }
+    synchronized double totalMillis() { return totalMillis; }
+    synchronized double maxMillis() { return maxMillis; }
+
+    @Override
+    public void close() {
+      for (var e : emitters) {
+        try {
+          e.removeNotificationListener(this);
+        } catch (ListenerNotFoundException ignored) {
+          // already removed
+        }
+      }
+    }
+  }
+
+  static String toJson(SoakConfig c, List<Run> runs) {
+    var sla = c.sla();
+    var sb = new StringBuilder("{\n");
+    sb.append("  \"config\" : {\n");
+    sb.append("    \"snakes\" : ").append(Arrays.toString(c.snakeCounts())).append(",\n");
+    sb.append("    \"warmupSeconds\" : ").append(c.warmupSeconds()).append(",\n");
+    sb.append("    \"seconds\" : ").append(c.seconds()).append(",\n");
+    sb.append("    \"stepMillis\" : ").append(c.stepMillis()).append(",\n");
+    sb.append("    \"turnsPerSecond\" : ").append(number(c.turnsPerSecond())).append(",\n");
+    sb.append("    \"carriers\" : ").append(Runtime.getRuntime().availableProcessors()).append(",\n");
+    sb.append("    \"javaVersion\" : ").append(quote(System.getProperty("java.version"))).append("\n");
+    sb.append("  },\n");
+    sb.append("  \"sla\" : {\n");
+    sb.append("    \"p50Millis\" : ").append(number(sla.p50Millis())).append(",\n");
+    sb.append("    \"p99Millis\" : ").append(number(sla.p99Millis())).append(",\n");
+    sb.append("    \"p999Millis\" : ").append(number(sla.p999Millis())).append(",\n");
+    sb.append("    \"minStepEfficiency\" : ").append(number(sla.minStepEfficiency())).append(",\n");
+    sb.append("    \"maxGcPauseMillis\" : ").append(number(sla.maxGcPauseMillis())).append(",\n");
+    sb.append("    \"maxGcFraction\" : ").append(number(sla.maxGcFraction())).append(",\n");
+    sb.append("    \"maxLostTurnFraction\" : ").append(number(sla.maxLostTurnFraction())).append("\n");
+    sb.append("  },\n");
+    sb.append("  \"runs\" : [\n");
+    for (int i = 0; i < runs.size(); i++) {
+      var r = runs.get(i);
+      sb.append("    {\n");
+      sb.append("      \"snakes\" : ").append(r.snakes()).append(",\n");
+      sb.append("      \"seconds\" : ").append(number(r.seconds())).append(",\n");
+      sb.append("      \"steps\" : ").append(r.steps()).append(",\n");
+      sb.append("      \"stepsPerSecond\" : ").append(number(r.stepsPerSecond())).append(",\n");
+      sb.append("      \"idealStepsPerSecond\" : ").append(number(r.idealStepsPerSecond())).append(",\n");
+      sb.append("      \"turns\" : { \"issued\" : ").append(r.turnsIssued())
+          .append(", \"applied\" : ").append(r.turnsApplied())
+          .append(", \"skipped\" : ").append(r.turnsSkipped())
+          .append(", \"blocked\" : ").append(r.turnsBlocked())
+          .append(", \"dropped\" : ").append(r.turnsDropped())
+          .append(", \"unaccounted\" : ").append(r.turnsUnaccounted())
+          .append(", \"lostFraction\" : ").append(number(r.lostTurnFraction())).append(" },\n");
+      sb.append("      \"turnLatencyMillis\" : { \"p50\" : ").append(number(r.p50Millis()))
+          .append(", \"p99\" : ").append(number(r.p99Millis()))
+          .append(", \"p999\" : ").append(number(r.p999Millis()))
+          .append(", \"max\" : ").append(number(r.maxMillis())).append(" },\n");
+      sb.append("      \"spawnLatencyP99Millis\" : ").append(number(r.spawnP99Millis())).append(",\n");
+      sb.append("      \"gc\" : { \"pauses\" : ").append(r.gcPauses())
+          .append(", \"totalMillis\" : ").append(number(r.gcPauseMillis()))
+          .append(", \"maxMillis\" : ").append(number(r.gcMaxPauseMillis()))
+          .append(", \"fraction\" : ").append(number(r.gcFraction())).append(" },\n");
+      sb.append("      \"violations\" : [");
+      for (int k = 0; k < r.violations().size(); k++) {
+        sb.append(k > 0 ? ", " : " ").append(quote(r.violations().get(k)));
+      }
+      sb.append(r.violations().isEmpty() ? "],\n" : " ],\n");
+      sb.append("      \"passed\" : ").append(r.violations().isEmpty()).append("\n");
+      sb.append("    }").append(i + 1 < runs.size() ? ",\n" : "\n");
+    }
+    sb.append("  ],\n");
+    sb.append("  \"passed\" : ").append(runs.stream().allMatch(r -> r.violations().isEmpty())).append("\n");
+    return sb.append("}\n").toString();
+  }
+}
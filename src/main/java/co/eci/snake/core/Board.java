@@ -1,12 +1,29 @@
 package co.eci.snake.core;
 
+import co.eci.snake.core.metrics.LatencyHistogram;
+import co.eci.snake.jfr.SnakeStepEvent;
+
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
-
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+import java.util.random.RandomGenerator;
+
+/**
+ * Shared grid of items. State is guarded by a {@link StampedLock} instead of the object monitor:
+ * snakes run on virtual threads, and a thread waiting for a monitor on Java 21 keeps its carrier
+ * pinned, while one waiting for a {@code StampedLock} unmounts. Copies and plain moves take
+ * the read lock so they run concurrently; only eating takes the write lock.
+ *
+ * <p>Eating a mouse does not place replacements inside the step: it queues spawn requests, and
+ * whoever drives the tick (game clock, server, match loop) calls {@link #spawnPending()} to place
+ * them in a batch, as allowed by the board's {@link SpawnPolicy}.
+ */
 public final class Board {
   private final int width;
   private final int height;
@@ -15,69 +32,193 @@ public final class Board {
   private final Set<Position> obstacles = new HashSet<>();
   private final Set<Position> turbo = new HashSet<>();
   private final Map<Position, Position> teleports = new HashMap<>();
+  private final RandomGenerator rnd;
+  private final StampedLock lock = new StampedLock();
+  private final LatencyHistogram turnLatency = new LatencyHistogram();
+  private final LongAdder blockedTurns = new LongAdder();
+  private final ItemSpawner spawner;
 
   public enum MoveResult { MOVED, ATE_MOUSE, HIT_OBSTACLE, ATE_TURBO, TELEPORTED }
 
+  /** Item kinds as stored by {@link #itemGrid(byte[])}: cell value is {@code ordinal() + 1}, 0 is empty. */
+  public enum Item { MOUSE, OBSTACLE, TURBO, TELEPORT }
+
   public Board(int width, int height) {
+    this(width, height, null);
+  }
+
+  /**
+   * @param rnd source for item placement; a seeded generator makes the board reproducible.
+   *            It is only used under the board's write lock. {@code null} uses {@link ThreadLocalRandom}.
+   */
+  public Board(int width, int height, RandomGenerator rnd) {
+    this(width, height, rnd, SpawnPolicy.defaults());
+  }
+
+  public Board(int width, int height, RandomGenerator rnd, SpawnPolicy policy) {
     if (width <= 0 || height <= 0) throw new IllegalArgumentException("Board dimensions must be positive");
+    Objects.requireNonNull(policy, "policy");
     this.width = width;
     this.height = height;
+    this.rnd = rnd;
     for (int i=0;i<6;i++) mice.add(randomEmpty());
     for (int i=0;i<4;i++) obstacles.add(randomEmpty());
     for (int i=0;i<3;i++) turbo.add(randomEmpty());
     createTeleportPairs(2);
+    this.spawner = new ItemSpawner(width, height, policy, mice, obstacles, turbo, teleports, random());
   }
 
   public int width() { return width; }
   public int height() { return height; }
 
-  public synchronized Set<Position> mice() { return new HashSet<>(mice); }
-  public synchronized Set<Position> obstacles() { return new HashSet<>(obstacles); }
-  public synchronized Set<Position> turbo() { return new HashSet<>(turbo); }
-  public synchronized Map<Position, Position> teleports() { return new HashMap<>(teleports); }
+  public Set<Position> mice() { return copyOf(mice); }
+  public Set<Position> obstacles() { return copyOf(obstacles); }
+  public Set<Position> turbo() { return copyOf(turbo); }
+
+  public Map<Position, Position> teleports() {
+    long stamp = lock.readLock();
+    try {
+      return new HashMap<>(teleports);
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  private Set<Position> copyOf(Set<Position> items) {
+    long stamp = lock.readLock();
+    try {
+      return new HashSet<>(items);
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /** Fills {@code cells} (row-major, {@code width * height}) with a consistent view of every item. */
+  public void itemGrid(byte[] cells) {
+    if (cells.length != width * height) throw new IllegalArgumentException("cells must have width*height entries");
+    long stamp = lock.readLock();
+    try {
+      Arrays.fill(cells, (byte) 0);
+      for (var p : teleports.keySet()) cells[p.y() * width + p.x()] = (byte) (Item.TELEPORT.ordinal() + 1);
+      for (var p : turbo) cells[p.y() * width + p.x()] = (byte) (Item.TURBO.ordinal() + 1);
+      for (var p : obstacles) cells[p.y() * width + p.x()] = (byte) (Item.OBSTACLE.ordinal() + 1);
+      for (var p : mice) cells[p.y() * width + p.x()] = (byte) (Item.MOUSE.ordinal() + 1);
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Spawn stage: places up to one batch of queued spawn requests under a single write lock and
+   * returns how many items were placed. Call once per tick; cheap when nothing is queued.
+   */
+  public int spawnPending() {
+    if (spawner.pending() == 0) return 0;
+    long stamp = lock.writeLock();
+    try {
+      return spawner.drain(random());
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  public SpawnPolicy spawnPolicy() { return spawner.policy(); }
+
+  /** Spawn requests waiting for {@link #spawnPending()}. */
+  public int pendingSpawns() { return spawner.pending(); }
+
+  public long spawnedItems() { return spawner.spawned(); }
+
+  /** Requests refused by a cap, the density limit or a full board. */
+  public long droppedSpawns() { return spawner.dropped(); }
+
+  /** Time from the mouse being eaten to its replacement items being placed. */
+  public LatencyHistogram spawnLatency() { return spawner.latency(); }
+
+  /** Time from {@link Snake#enqueueTurn} to the step that moves the snake in that direction. */
+  public LatencyHistogram turnLatency() { return turnLatency; }
+
+  /** Queued turns whose step hit an obstacle: the snake never moved that way, so no latency is recorded. */
+  public long blockedTurns() { return blockedTurns.sum(); }
 
   public MoveResult step(Snake snake) {
     Objects.requireNonNull(snake, "snake");
+    var event = new SnakeStepEvent();
+    event.begin();
+    long queuedAt = snake.applyQueuedTurn();
+    var result = move(snake, event);
+    if (queuedAt >= 0) {
+      if (result == MoveResult.HIT_OBSTACLE) blockedTurns.increment();
+      else turnLatency.record(System.nanoTime() - queuedAt);
+    }
+    if (event.shouldCommit()) {
+      event.snakeId = snake.id();
+      event.result = result.name();
+      event.commit();
+    }
+    return result;
+  }
+
+  private MoveResult move(Snake snake, SnakeStepEvent event) {
     var head = snake.head();
     var dir = snake.direction();
-    Position next = new Position(head.x() + dir.dx, head.y() + dir.dy).wrap(width, height);
+    Position ahead = new Position(head.x() + dir.dx, head.y() + dir.dy).wrap(width, height);
+    Position next;
+
+    long stamp = readLock(event);
+    try {
+      if (obstacles.contains(ahead)) return MoveResult.HIT_OBSTACLE;
+      next = teleports.getOrDefault(ahead, ahead);
+
+      // Plain moves only read the board, so snakes that eat nothing never exclude each other
+      if (!mice.contains(next) && !turbo.contains(next)) {
+        snake.advance(next, false);
+        return teleports.containsKey(next) ? MoveResult.TELEPORTED : MoveResult.MOVED;
+      }
 
-    synchronized (this) {
-      if (obstacles.contains(next)) return MoveResult.HIT_OBSTACLE;
-      if (teleports.containsKey(next)) {
-        next = teleports.get(next);
+      long ws = lock.tryConvertToWriteLock(stamp);
+      if (ws == 0L) {
+        lock.unlockRead(stamp);
+        long t0 = System.nanoTime();
+        stamp = lock.writeLock();
+        event.lockWait += System.nanoTime() - t0;
+        // No lock was held for a moment: another step may have eaten the item and the spawn stage
+        // may have put an obstacle there, so decide again
+        if (obstacles.contains(ahead)) return MoveResult.HIT_OBSTACLE;
+        next = teleports.getOrDefault(ahead, ahead);
+      } else {
+        stamp = ws;
       }
-    }
 
-    synchronized (this) {
       boolean ateMouse = mice.remove(next);
       boolean ateTurbo = turbo.remove(next);
 
       snake.advance(next, ateMouse);
 
-      if (ateMouse) {
-        mice.add(randomEmptySafe());
-        obstacles.add(randomEmptySafe());
-        if (ThreadLocalRandom.current().nextDouble() < 0.2) turbo.add(randomEmptySafe());
-      }
+      if (ateMouse || ateTurbo) spawner.release(next, random());
+      if (ateMouse) spawner.mouseEaten();
 
       if (ateTurbo) return MoveResult.ATE_TURBO;
       if (ateMouse) return MoveResult.ATE_MOUSE;
       if (teleports.containsKey(next)) return MoveResult.TELEPORTED;
       return MoveResult.MOVED;
+    } finally {
+      lock.unlock(stamp);
     }
   }
 
-  private Position randomEmptySafe() {
-    var rnd = ThreadLocalRandom.current();
-    Position p;
-    int guard = 0;
-    do {
-      p = new Position(rnd.nextInt(width), rnd.nextInt(height));
-      guard++;
-      if (guard > width*height*2) break;
-    } while (mice.contains(p) || obstacles.contains(p) || turbo.contains(p) || teleports.containsKey(p));
-    return p;
+  /** Only the contended path is timed, so an uncontended step pays nothing for the event. */
+  private long readLock(SnakeStepEvent event) {
+    long stamp = lock.tryReadLock();
+    if (stamp != 0L) return stamp;
+    long t0 = System.nanoTime();
+    stamp = lock.readLock();
+    event.lockWait += System.nanoTime() - t0;
+    return stamp;
+  }
+
+  private RandomGenerator random() {
+    return rnd != null ? rnd : ThreadLocalRandom.current();
   }
 
   private void createTeleportPairs(int pairs) {
@@ -90,7 +231,7 @@ public final class Board {
   }
 
   private Position randomEmpty() {
-    var rnd = ThreadLocalRandom.current();
+    var rnd = random();
     Position p;
     int guard = 0;
     do {
@@ -1,5 +1,7 @@
 package co.eci.snake.core;
 
+import co.eci.snake.jfr.GameStateEvent;
+
 import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -18,20 +20,32 @@ public final class GameController {
   }
 
   public void start() {
-    state.set(GameState.RUNNING);
     startTime = System.currentTimeMillis();
+    transition(GameState.RUNNING);
   }
 
   public void pause() {
-    state.set(GameState.PAUSED);
+    transition(GameState.PAUSED);
   }
 
   public void resume() {
-    state.set(GameState.RUNNING);
+    transition(GameState.RUNNING);
   }
 
   public void stop() {
-    state.set(GameState.STOPPED);
+    transition(GameState.STOPPED);
+  }
+
+  private void transition(GameState to) {
+    var from = state.getAndSet(to);
+    if (from == to) return;
+    var event = new GameStateEvent();
+    if (event.shouldCommit()) {
+      event.from = from.name();
+      event.to = to.name();
+      event.elapsed = getElapsedTime();
+      event.commit();
+    }
   }
 
   public void checkAndWaitIfPaused() throws InterruptedException {
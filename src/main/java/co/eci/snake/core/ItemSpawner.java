@@ -0,0 +1,159 @@
+package co.eci.snake.core;
+
+import co.eci.snake.core.metrics.LatencyHistogram;
+import co.eci.snake.jfr.ItemRespawnEvent;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.random.RandomGenerator;
+
+/**
+ * Spawn stage of a {@link Board}. {@code step} only offers requests to a lock-free queue; a later
+ * {@link #drain} places them in one batch from a pool of free cells kept in random order, so a
+ * placement is a pop instead of rejection sampling.
+ *
+ * <p>The pool holds every cell with no item. It is shuffled once and kept shuffled: a freed cell
+ * is swapped into a random slot (inside-out Fisher-Yates), so popping the last slot is always a
+ * uniform pick. {@code slot} maps a cell to its pool index (-1 when occupied) to skip duplicates.
+ * Everything except {@link #mouseEaten} runs under the board's write lock.
+ */
+final class ItemSpawner {
+  private record Request(Board.Item item, long enqueuedNanos) {}
+
+  private final int width;
+  private final int cells;
+  private final SpawnPolicy policy;
+  private final Set<Position> mice;
+  private final Set<Position> obstacles;
+  private final Set<Position> turbo;
+  private final Map<Position, Position> teleports;
+
+  private final int[] pool;
+  private final int[] slot;
+  private int free;
+
+  private final ConcurrentLinkedQueue<Request> queue = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger pending = new AtomicInteger();
+  private final LongAdder spawned = new LongAdder();
+  private final LongAdder dropped = new LongAdder();
+  private final LatencyHistogram latency = new LatencyHistogram();
+
+  ItemSpawner(int width, int height, SpawnPolicy policy, Set<Position> mice, Set<Position> obstacles,
+              Set<Position> turbo, Map<Position, Position> teleports, RandomGenerator rnd) {
+    this.width = width;
+    this.cells = width * height;
+    this.policy = policy;
+    this.mice = mice;
+    this.obstacles = obstacles;
+    this.turbo = turbo;
+    this.teleports = teleports;
+    this.pool = new int[cells];
+    this.slot = new int[cells];
+    for (int c = 0; c < cells; c++) {
+      slot[c] = -1;
+      if (!occupied(position(c))) {
+        pool[free] = c;
+        slot[c] = free++;
+      }
+    }
+    for (int i = free - 1; i > 0; i--) swap(i, rnd.nextInt(i + 1));
+  }
+
+  SpawnPolicy policy() { return policy; }
+  LatencyHistogram latency() { return latency; }
+  int pending() { return pending.get(); }
+  long spawned() { return spawned.sum(); }
+  long dropped() { return dropped.sum(); }
+
+  /** Lock-free; called from {@code step} when a mouse is eaten. */
+  void mouseEaten() {
+    long now = System.nanoTime();
+    request(Board.Item.MOUSE, now);
+    request(Board.Item.OBSTACLE, now);
+    request(Board.Item.TURBO, now);
+  }
+
+  private void request(Board.Item item, long now) {
+    queue.offer(new Request(item, now));
+    pending.incrementAndGet();
+  }
+
+  /** A cell lost its item: insert it at a random slot so the pool stays shuffled. */
+  void release(Position p, RandomGenerator rnd) {
+    int c = cell(p);
+    if (slot[c] >= 0 || occupied(p)) return;
+    pool[free] = c;
+    slot[c] = free;
+    int last = free++;
+    swap(last, rnd.nextInt(free));
+  }
+
+  /**
+   * Takes up to one batch of queued requests, rolls each one's chance and places the winners.
+   * Requests refused by a cap, the density limit or a full board count as dropped.
+   */
+  int drain(RandomGenerator rnd) {
+    int placed = 0;
+    Request r;
+    for (int n = 0; n < policy.batchSize() && (r = queue.poll()) != null; n++) {
+      pending.decrementAndGet();
+      if (rnd.nextDouble() >= policy.chance(r.item())) continue;
+      var event = new ItemRespawnEvent();
+      event.begin();
+      Position p = place(r.item());
+      long waited = System.nanoTime() - r.enqueuedNanos();
+      if (p == null) {
+        dropped.increment();
+        continue;
+      }
+      placed++;
+      spawned.increment();
+      latency.record(waited);
+      if (event.shouldCommit()) {
+        event.item = r.item().name();
+        event.queueDelay = waited;
+        event.x = p.x();
+        event.y = p.y();
+        event.commit();
+      }
+    }
+    return placed;
+  }
+
+  private Position place(Board.Item item) {
+    var set = switch (item) {
+      case MOUSE -> mice;
+      case OBSTACLE -> obstacles;
+      case TURBO -> turbo;
+      case TELEPORT -> throw new IllegalArgumentException("teleports are not respawned");
+    };
+    if (free == 0 || set.size() >= policy.cap(item)) return null;
+    int items = mice.size() + obstacles.size() + turbo.size() + teleports.size();
+    if (items + 1 > policy.maxDensity() * cells) return null;
+
+    int c = pool[--free];
+    slot[c] = -1;
+    var p = position(c);
+    set.add(p);
+    return p;
+  }
+
+  private void swap(int i, int j) {
+    int a = pool[i], b = pool[j];
+    pool[i] = b;
+    pool[j] = a;
+    slot[b] = i;
+    slot[a] = j;
+  }
+
+  private boolean occupied(Position p) {
+    return mice.contains(p) || obstacles.contains(p) || turbo.contains(p) || teleports.containsKey(p);
+  }
+
+  private int cell(Position p) { return p.y() * width + p.x(); }
+
+  private Position position(int c) { return new Position(c % width, c / width); }
+}
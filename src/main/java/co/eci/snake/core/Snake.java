@@ -2,40 +2,149 @@ package co.eci.snake.core;
 
 import java.util.ArrayDeque;
 import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Guarded by a {@link ReentrantLock} rather than {@code synchronized} so a virtual thread that
+ * blocks on a busy snake unmounts instead of pinning its carrier. {@link #head()},
+ * {@link #direction()}, {@link #moves()}, {@link #length()} and {@link #miceEaten()} are lock-free
+ * reads of volatile fields.
+ */
 public final class Snake {
+  private static final int MAX_PENDING_TURNS = 16;
+
+  private final int id;
   private final Deque<Position> body = new ArrayDeque<>();
+  private final TurnQueue turns = new TurnQueue(MAX_PENDING_TURNS);
+  private final ReentrantLock lock = new ReentrantLock();
+  private final LongAdder skippedTurns = new LongAdder();
   private volatile Direction direction;
+  private volatile Position head;
+  private volatile long moves;
+  private volatile int miceEaten;
+  private volatile int length = 1;
   private int maxLength = 5;
 
-  private Snake(Position start, Direction dir) {
+  /** Body copy plus the number of advances that produced it, taken atomically. */
+  public record Frame(int id, long moves, List<Position> body) {}
+
+  private Snake(int id, Position start, Direction dir) {
+    this.id = id;
     body.addFirst(start);
+    this.head = start;
     this.direction = dir;
   }
 
   public static Snake of(int x, int y, Direction dir) {
-    return new Snake(new Position(x, y), dir);
+    return of(-1, x, y, dir);
+  }
+
+  public static Snake of(int id, int x, int y, Direction dir) {
+    return new Snake(id, new Position(x, y), dir);
   }
 
+  public int id() { return id; }
+
   public Direction direction() { return direction; }
 
-  public synchronized void turn(Direction dir) {
-    if ((direction == Direction.UP && dir == Direction.DOWN) ||
+  public void turn(Direction dir) {
+    lock.lock();
+    try {
+      if (isReverse(dir)) return;
+      this.direction = dir;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Queues a turn to be applied at the start of one of the snake's next steps, in arrival order.
+   * Safe to call from any thread without blocking; returns false if the queue is full.
+   */
+  public boolean enqueueTurn(Direction dir) {
+    return turns.offer(dir);
+  }
+
+  public int pendingTurns() { return turns.size(); }
+
+  public long droppedTurns() { return turns.dropped(); }
+
+  /** Queued turns discarded by {@link #applyQueuedTurn()} as a repeat or a reversal. */
+  public long skippedTurns() { return skippedTurns.sum(); }
+
+  /**
+   * Applies the first queued turn that changes the direction (reversals and repeats are skipped).
+   * At most one turn per step, so two quick presses become two consecutive moves. Called only by
+   * the thread stepping this snake.
+   *
+   * @return {@code System.nanoTime()} at which the applied turn was queued, or -1 if none applied
+   */
+  public long applyQueuedTurn() {
+    TurnQueue.Command c;
+    while ((c = turns.poll()) != null) {
+      lock.lock();
+      try {
+        if (c.direction() != direction && !isReverse(c.direction())) {
+          direction = c.direction();
+          return c.enqueuedNanos();
+        }
+        skippedTurns.increment();
+      } finally {
+        lock.unlock();
+      }
+    }
+    return -1;
+  }
+
+  private boolean isReverse(Direction dir) {
+    return (direction == Direction.UP && dir == Direction.DOWN) ||
         (direction == Direction.DOWN && dir == Direction.UP) ||
         (direction == Direction.LEFT && dir == Direction.RIGHT) ||
-        (direction == Direction.RIGHT && dir == Direction.LEFT)) {
-      return;
-    }
-    this.direction = dir;
+        (direction == Direction.RIGHT && dir == Direction.LEFT);
   }
 
-  public synchronized Position head() { return body.peekFirst(); }
+  public Position head() { return head; }
 
-  public synchronized Deque<Position> snapshot() { return new ArrayDeque<>(body); }
+  public long moves() { return moves; }
 
-  public synchronized void advance(Position newHead, boolean grow) {
-    body.addFirst(newHead);
-    if (grow) maxLength++;
-    while (body.size() > maxLength) body.removeLast();
+  public int miceEaten() { return miceEaten; }
+
+  public int length() { return length; }
+
+  public Deque<Position> snapshot() {
+    lock.lock();
+    try {
+      return new ArrayDeque<>(body);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public Frame frame() {
+    lock.lock();
+    try {
+      return new Frame(id, moves, List.copyOf(body));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public void advance(Position newHead, boolean grow) {
+    lock.lock();
+    try {
+      body.addFirst(newHead);
+      if (grow) {
+        maxLength++;
+        miceEaten++;
+      }
+      while (body.size() > maxLength) body.removeLast();
+      length = body.size();
+      head = newHead;
+      moves++;
+    } finally {
+      lock.unlock();
+    }
   }
 }
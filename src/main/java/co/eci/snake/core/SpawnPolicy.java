@@ -0,0 +1,72 @@
+package co.eci.snake.core;
+
+/**
+ * How {@link Board} replaces eaten mice. Each mouse eaten requests a mouse, an obstacle and a turbo,
+ * each placed with its own chance; a request is dropped if its item is at its cap or the board's
+ * item density (items / cells) would exceed {@code maxDensity}. {@code batchSize} bounds how many
+ * requests one {@link Board#spawnPending()} places under a single write lock.
+ *
+ * <p>{@link #defaults()} reproduces the original rules: always a new mouse and obstacle, turbo 20%.
+ */
+public record SpawnPolicy(double mouseChance, double obstacleChance, double turboChance,
+                          int maxMice, int maxObstacles, int maxTurbo,
+                          double maxDensity, int batchSize) {
+
+  public SpawnPolicy {
+    checkChance("mouseChance", mouseChance);
+    checkChance("obstacleChance", obstacleChance);
+    checkChance("turboChance", turboChance);
+    if (maxMice < 0 || maxObstacles < 0 || maxTurbo < 0) throw new IllegalArgumentException("caps must be >= 0");
+    if (!(maxDensity > 0 && maxDensity <= 1)) throw new IllegalArgumentException("maxDensity must be in (0, 1]");
+    if (batchSize <= 0) throw new IllegalArgumentException("batchSize must be > 0");
+  }
+
+  private static void checkChance(String name, double p) {
+    if (!(p >= 0 && p <= 1)) throw new IllegalArgumentException(name + " must be in [0, 1]");
+  }
+
+  public static SpawnPolicy defaults() {
+    return new SpawnPolicy(1.0, 1.0, 0.2, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, 1.0, 64);
+  }
+
+  /**
+   * {@link #defaults()} overridden by {@code -Dspawn.mouse}, {@code .obstacle}, {@code .turbo}
+   * (chances), {@code -Dspawn.maxMice}, {@code .maxObstacles}, {@code .maxTurbo},
+   * {@code -Dspawn.maxDensity} and {@code -Dspawn.batch}.
+   */
+  public static SpawnPolicy fromSystemProperties() {
+    var d = defaults();
+    return new SpawnPolicy(
+        doubleProperty("spawn.mouse", d.mouseChance()),
+        doubleProperty("spawn.obstacle", d.obstacleChance()),
+        doubleProperty("spawn.turbo", d.turboChance()),
+        Integer.getInteger("spawn.maxMice", d.maxMice()),
+        Integer.getInteger("spawn.maxObstacles", d.maxObstacles()),
+        Integer.getInteger("spawn.maxTurbo", d.maxTurbo()),
+        doubleProperty("spawn.maxDensity", d.maxDensity()),
+        Integer.getInteger("spawn.batch", d.batchSize()));
+  }
+
+  private static double doubleProperty(String key, double def) {
+    String v = System.getProperty(key);
+    return v == null || v.isBlank() ? def : Double.parseDouble(v.trim());
+  }
+
+  double chance(Board.Item item) {
+    return switch (item) {
+      case MOUSE -> mouseChance;
+      case OBSTACLE -> obstacleChance;
+      case TURBO -> turboChance;
+      case TELEPORT -> 0;
+    };
+  }
+
+  int cap(Board.Item item) {
+    return switch (item) {
+      case MOUSE -> maxMice;
+      case OBSTACLE -> maxObstacles;
+      case TURBO -> maxTurbo;
+      case TELEPORT -> 0;
+    };
+  }
+}
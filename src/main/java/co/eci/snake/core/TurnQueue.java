@@ -0,0 +1,44 @@
+package co.eci.snake.core;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-snake multi-producer / single-consumer queue of turn commands. Producers (EDT, network,
+ * bots) only do a lock-free offer; the thread stepping the snake drains it at the start of each
+ * step. Bounded: when {@code capacity} commands are pending, new ones are dropped and counted.
+ */
+final class TurnQueue {
+  record Command(Direction direction, long enqueuedNanos) {}
+
+  private final ConcurrentLinkedQueue<Command> queue = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger size = new AtomicInteger();
+  private final LongAdder dropped = new LongAdder();
+  private final int capacity;
+
+  TurnQueue(int capacity) {
+    this.capacity = capacity;
+  }
+
+  boolean offer(Direction dir) {
+    if (size.incrementAndGet() > capacity) {
+      size.decrementAndGet();
+      dropped.increment();
+      return false;
+    }
+    queue.offer(new Command(dir, System.nanoTime()));
+    return true;
+  }
+
+  /** Consumer side only. */
+  Command poll() {
+    var c = queue.poll();
+    if (c != null) size.decrementAndGet();
+    return c;
+  }
+
+  int size() { return size.get(); }
+
+  long dropped() { return dropped.sum(); }
+}
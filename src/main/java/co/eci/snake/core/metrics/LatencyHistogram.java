@@ -0,0 +1,83 @@
+package co.eci.snake.core.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free log-linear histogram of nanosecond latencies. Each power of two is split into 8
+ * sub-buckets, so any reported percentile is within 12.5% of the true value. Recording is a
+ * couple of atomic increments and never allocates; readers see an approximate, non-atomic view.
+ */
+public final class LatencyHistogram {
+  private static final int SUB_BITS = 3;
+  private static final int SUB = 1 << SUB_BITS;
+  private static final int BUCKETS = (64 - SUB_BITS + 1) * SUB;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder total = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+  private final AtomicLong max = new AtomicLong();
+
+  public void record(long nanos) {
+    if (nanos < 0) nanos = 0;
+    counts.incrementAndGet(index(nanos));
+    total.increment();
+    sum.add(nanos);
+    if (nanos > max.get()) max.accumulateAndGet(nanos, Math::max);
+  }
+
+  public long count() { return total.sum(); }
+
+  public long max() { return max.get(); }
+
+  public double mean() {
+    long n = total.sum();
+    return n == 0 ? 0 : (double) sum.sum() / n;
+  }
+
+  /** Upper bound of the bucket holding quantile {@code q} (0..1), or 0 when empty. */
+  public long percentile(double q) {
+    long n = 0;
+    long[] snapshot = new long[BUCKETS];
+    for (int i = 0; i < BUCKETS; i++) {
+      snapshot[i] = counts.get(i);
+      n += snapshot[i];
+    }
+    if (n == 0) return 0;
+    long rank = Math.max(1, (long) Math.ceil(q * n));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += snapshot[i];
+      if (seen >= rank) return Math.min(upperBound(i), max.get());
+    }
+    return max.get();
+  }
+
+  public void reset() {
+    for (int i = 0; i < BUCKETS; i++) counts.set(i, 0);
+    total.reset();
+    sum.reset();
+    max.set(0);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("count=%d p50=%dus p99=%dus p999=%dus max=%dus",
+        count(), percentile(0.50) / 1000, percentile(0.99) / 1000, percentile(0.999) / 1000, max() / 1000);
+  }
+
+  static int index(long v) {
+    if (v < SUB) return (int) v;
+    int e = 63 - Long.numberOfLeadingZeros(v);
+    int m = (int) (v >>> (e - SUB_BITS)) & (SUB - 1);
+    return (e - SUB_BITS + 1) * SUB + m;
+  }
+
+  static long upperBound(int index) {
+    if (index < SUB) return index;
+    int e = index / SUB + SUB_BITS - 1;
+    long m = index % SUB;
+    return ((SUB + m + 1) << (e - SUB_BITS)) - 1;
+  }
+}
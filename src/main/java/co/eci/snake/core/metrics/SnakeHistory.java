@@ -0,0 +1,49 @@
+package co.eci.snake.core.metrics;
+
+import co.eci.snake.core.Snake;
+
+/**
+ * Length, mice eaten and moves/sec of one snake, one sample per {@link #sample(long)}.
+ * Moves/sec is smoothed over about {@link #RATE_WINDOW_NANOS} so a tick shorter than a step
+ * does not alternate between 0 and a spike.
+ */
+public final class SnakeHistory {
+  static final long RATE_WINDOW_NANOS = 1_000_000_000L;
+
+  private final Snake snake;
+  private final TimeSeries length;
+  private final TimeSeries mice;
+  private final TimeSeries movesPerSecond;
+  private long lastMoves;
+  private long lastNanos;
+  private double rate;
+
+  public SnakeHistory(Snake snake, int capacity) {
+    this.snake = snake;
+    this.length = new TimeSeries(capacity);
+    this.mice = new TimeSeries(capacity);
+    this.movesPerSecond = new TimeSeries(capacity);
+    this.lastMoves = snake.moves();
+  }
+
+  public void sample(long nowNanos) {
+    long moves = snake.moves();
+    if (lastNanos != 0) {
+      long dt = Math.max(1, nowNanos - lastNanos);
+      double instant = (moves - lastMoves) * 1e9 / dt;
+      double alpha = (double) dt / (dt + RATE_WINDOW_NANOS);
+      rate += alpha * (instant - rate);
+    }
+    lastMoves = moves;
+    lastNanos = nowNanos;
+    length.add(snake.length());
+    mice.add(snake.miceEaten());
+    movesPerSecond.add(rate);
+  }
+
+  public Snake snake() { return snake; }
+  public int id() { return snake.id(); }
+  public TimeSeries length() { return length; }
+  public TimeSeries mice() { return mice; }
+  public TimeSeries movesPerSecond() { return movesPerSecond; }
+}
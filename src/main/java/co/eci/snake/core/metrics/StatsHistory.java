@@ -0,0 +1,59 @@
+package co.eci.snake.core.metrics;
+
+import co.eci.snake.core.Snake;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Per-snake {@link SnakeHistory} plus leaderboards, all refreshed by {@link #sample(long)} once per
+ * tick. Readers (the stats panel) only read precomputed values: leaderboards are index arrays
+ * re-sorted in place on each sample, so nothing is allocated or recomputed while painting.
+ *
+ * <p>Not thread-safe; sample and read from the same thread.
+ */
+public final class StatsHistory {
+  public enum Ranking { LENGTH, MICE, SPEED }
+
+  private final List<SnakeHistory> snakes;
+  private final int[][] rankings;
+  private long samples;
+
+  public StatsHistory(List<Snake> snakes, int capacity) {
+    var list = new ArrayList<SnakeHistory>(snakes.size());
+    for (var s : snakes) list.add(new SnakeHistory(s, capacity));
+    this.snakes = List.copyOf(list);
+    this.rankings = new int[Ranking.values().length][snakes.size()];
+    for (int[] r : rankings) for (int i = 0; i < r.length; i++) r[i] = i;
+  }
+
+  public void sample(long nowNanos) {
+    for (var h : snakes) h.sample(nowNanos);
+    rank(rankings[Ranking.LENGTH.ordinal()], h -> h.length().last());
+    rank(rankings[Ranking.MICE.ordinal()], h -> h.mice().last());
+    rank(rankings[Ranking.SPEED.ordinal()], h -> h.movesPerSecond().last());
+    samples++;
+  }
+
+  /** Insertion sort, descending; the previous order is almost always still sorted. */
+  private void rank(int[] order, ToDoubleFunction<SnakeHistory> key) {
+    for (int i = 1; i < order.length; i++) {
+      int idx = order[i];
+      double k = key.applyAsDouble(snakes.get(idx));
+      int j = i - 1;
+      while (j >= 0 && key.applyAsDouble(snakes.get(order[j])) < k) {
+        order[j + 1] = order[j];
+        j--;
+      }
+      order[j + 1] = idx;
+    }
+  }
+
+  public long samples() { return samples; }
+  public int size() { return snakes.size(); }
+  public SnakeHistory get(int i) { return snakes.get(i); }
+
+  /** Index (into {@link #get(int)}) of the snake at {@code place} on a leaderboard, 0 = leader. */
+  public int ranked(Ranking ranking, int place) { return rankings[ranking.ordinal()][place]; }
+}
@@ -0,0 +1,71 @@
+package co.eci.snake.core.metrics;
+
+/**
+ * Fixed-capacity ring of samples with O(1) amortized window aggregates. The sum gives the average;
+ * min and max come from monotonic deques of sample numbers, themselves rings of the same capacity,
+ * so memory is fixed at construction no matter how many samples are added.
+ *
+ * <p>Not thread-safe: one thread adds and reads (the UI samples and paints on the EDT).
+ */
+public final class TimeSeries {
+  private final double[] values;
+  private final long[] maxQueue;
+  private final long[] minQueue;
+  private long maxHead, maxTail;
+  private long minHead, minTail;
+  private long count;
+  private double sum;
+  private double allTimeMax = Double.NEGATIVE_INFINITY;
+
+  public TimeSeries(int capacity) {
+    if (capacity <= 0) throw new IllegalArgumentException("capacity must be > 0");
+    this.values = new double[capacity];
+    this.maxQueue = new long[capacity];
+    this.minQueue = new long[capacity];
+  }
+
+  public void add(double v) {
+    int cap = values.length;
+    long seq = count;
+    if (seq >= cap) sum -= values[(int) (seq % cap)];
+    values[(int) (seq % cap)] = v;
+    sum += v;
+    count = seq + 1;
+    if (v > allTimeMax) allTimeMax = v;
+
+    long oldest = seq - cap + 1;
+    if (maxHead < maxTail && maxQueue[(int) (maxHead % cap)] < oldest) maxHead++;
+    while (maxHead < maxTail && valueAt(maxQueue[(int) ((maxTail - 1) % cap)]) <= v) maxTail--;
+    maxQueue[(int) (maxTail++ % cap)] = seq;
+
+    if (minHead < minTail && minQueue[(int) (minHead % cap)] < oldest) minHead++;
+    while (minHead < minTail && valueAt(minQueue[(int) ((minTail - 1) % cap)]) >= v) minTail--;
+    minQueue[(int) (minTail++ % cap)] = seq;
+  }
+
+  private double valueAt(long seq) { return values[(int) (seq % values.length)]; }
+
+  public int capacity() { return values.length; }
+
+  /** Samples currently in the window. */
+  public int size() { return (int) Math.min(count, values.length); }
+
+  /** Samples ever added. */
+  public long count() { return count; }
+
+  /** {@code i}-th sample in the window, 0 being the oldest. */
+  public double get(int i) {
+    if (i < 0 || i >= size()) throw new IndexOutOfBoundsException(i);
+    return valueAt(count - size() + i);
+  }
+
+  public double last() { return count == 0 ? 0 : valueAt(count - 1); }
+
+  public double min() { return count == 0 ? 0 : valueAt(minQueue[(int) (minHead % values.length)]); }
+
+  public double max() { return count == 0 ? 0 : valueAt(maxQueue[(int) (maxHead % values.length)]); }
+
+  public double mean() { return count == 0 ? 0 : sum / size(); }
+
+  public double allTimeMax() { return count == 0 ? 0 : allTimeMax; }
+}
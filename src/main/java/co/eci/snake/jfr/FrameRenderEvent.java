@@ -0,0 +1,24 @@
+package co.eci.snake.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** One {@code GamePanel.paintComponent} on the EDT. Off unless enabled by a settings profile. */
+@Name("co.eci.snake.FrameRender")
+@Label("Frame Render")
+@Category({"Snake Race", "UI"})
+@Description("Time to paint the board; long frames show up as UI stalls")
+@Enabled(false)
+@StackTrace(false)
+public final class FrameRenderEvent extends Event {
+  @Label("Snakes")
+  public int snakes;
+
+  @Label("Items")
+  public int items;
+}
@@ -0,0 +1,25 @@
+package co.eci.snake.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/** A {@code GameController} state change, e.g. RUNNING to PAUSED. */
+@Name("co.eci.snake.GameState")
+@Label("Game State Change")
+@Category({"Snake Race", "Game"})
+@StackTrace(false)
+public final class GameStateEvent extends Event {
+  @Label("From")
+  public String from;
+
+  @Label("To")
+  public String to;
+
+  @Label("Elapsed")
+  @Timespan(Timespan.MILLISECONDS)
+  public long elapsed;
+}
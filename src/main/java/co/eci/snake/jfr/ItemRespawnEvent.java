@@ -0,0 +1,31 @@
+package co.eci.snake.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/** An item placed on a free cell by the board's spawn stage after a snake ate a mouse. */
+@Name("co.eci.snake.ItemRespawn")
+@Label("Item Respawn")
+@Category({"Snake Race", "Board"})
+@Description("Placement of a new item; the duration is the placement, queueDelay the wait before it")
+@StackTrace(false)
+public final class ItemRespawnEvent extends Event {
+  @Label("Item")
+  public String item;
+
+  @Label("Queue Delay")
+  @Description("Time from the mouse being eaten to this placement")
+  @Timespan(Timespan.NANOSECONDS)
+  public long queueDelay;
+
+  @Label("X")
+  public int x;
+
+  @Label("Y")
+  public int y;
+}
@@ -0,0 +1,33 @@
+package co.eci.snake.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One {@code Board.step}. Fires thousands of times per second with many snakes, so it is off
+ * unless a settings profile such as {@code jfr/snake.jfc} enables it.
+ */
+@Name("co.eci.snake.Step")
+@Label("Snake Step")
+@Category({"Snake Race", "Board"})
+@Description("One snake moving one cell, including time spent waiting for the board lock")
+@Enabled(false)
+@StackTrace(false)
+public final class SnakeStepEvent extends Event {
+  @Label("Snake Id")
+  public int snakeId;
+
+  @Label("Result")
+  public String result;
+
+  @Label("Lock Wait")
+  @Description("Time blocked acquiring the board lock; zero when it was free")
+  @Timespan(Timespan.NANOSECONDS)
+  public long lockWait;
+}
@@ -0,0 +1,153 @@
+package co.eci.snake.net;
+
+import co.eci.snake.core.Board;
+import co.eci.snake.core.Direction;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Headless client that joins a {@link GameServer}, keeps a {@link RemoteWorld} in sync and, as a
+ * player, steers its snake towards the closest mouse every {@code turnMillis}.
+ *
+ * <p>{@code main(host, port, bots, seconds)} runs a swarm of bots against a server on localhost
+ * and prints what each one received; a non-zero {@code desyncs} count means a delta did not
+ * follow its predecessor and the bot had to wait for a snapshot.
+ */
+public final class BotClient implements Runnable, AutoCloseable {
+  private static final byte MOUSE = (byte) (Board.Item.MOUSE.ordinal() + 1);
+
+  private final SocketChannel channel;
+  private final byte role;
+  private final long turnMillis;
+  private final SplittableRandom rnd;
+  private RemoteWorld world;
+  private int snakeId = -1;
+  private volatile boolean running = true;
+
+  private long messages;
+  private long bytes;
+  private long snapshots;
+  private long deltas;
+  private long desyncs;
+  private long turns;
+
+  public BotClient(InetSocketAddress server, boolean player, long turnMillis, long seed) throws IOException {
+    this.channel = SocketChannel.open(server);
+    this.role = player ? Protocol.ROLE_PLAYER : Protocol.ROLE_SPECTATOR;
+    this.turnMillis = turnMillis;
+    this.rnd = new SplittableRandom(seed);
+  }
+
+  @Override
+  public void run() {
+    try (var in = new DataInputStream(Channels.newInputStream(channel))) {
+      write(Protocol.join(role));
+      long nextTurn = System.currentTimeMillis() + turnMillis;
+      while (running) {
+        int len = in.readInt();
+        if (len <= 0 || len > Protocol.MAX_FRAME) throw new IOException("bad frame length " + len);
+        byte[] payload = new byte[len];
+        in.readFully(payload);
+        messages++;
+        bytes += 4 + len;
+        handle(ByteBuffer.wrap(payload));
+        if (snakeId >= 0 && world != null && world.synced() && System.currentTimeMillis() >= nextTurn) {
+          write(Protocol.turn(steer().ordinal()));
+          turns++;
+          nextTurn += turnMillis;
+        }
+      }
+    } catch (EOFException | ClosedChannelException e) {
+      // server went away or close() was called
+    } catch (IOException e) {
+      if (running) throw new UncheckedIOException(e);
+    }
+  }
+
+  private void handle(ByteBuffer msg) {
+    switch (msg.get()) {
+      case Protocol.WELCOME -> {
+        snakeId = Protocol.readVarInt(msg) - 1;
+        world = new RemoteWorld(Protocol.readVarInt(msg), Protocol.readVarInt(msg));
+      }
+      case Protocol.SNAPSHOT -> {
+        world.applySnapshot(msg);
+        snapshots++;
+      }
+      case Protocol.DELTA -> {
+        if (!world.applyDelta(msg)) desyncs++;
+        deltas++;
+      }
+      default -> throw new IllegalStateException("unexpected message");
+    }
+  }
+
+  private Direction steer() {
+    int hx = world.headX(snakeId), hy = world.headY(snakeId);
+    int best = Integer.MAX_VALUE, tx = -1, ty = -1;
+    for (int y = 0; y < world.height(); y++) {
+      for (int x = 0; x < world.width(); x++) {
+        if (world.item(x, y) != MOUSE) continue;
+        int d = Math.abs(x - hx) + Math.abs(y - hy);
+        if (d < best) {
+          best = d;
+          tx = x;
+          ty = y;
+        }
+      }
+    }
+    if (tx < 0 || rnd.nextInt(10) == 0) return Direction.values()[rnd.nextInt(Direction.values().length)];
+    if (tx != hx && (ty == hy || rnd.nextBoolean())) return tx < hx ? Direction.LEFT : Direction.RIGHT;
+    return ty < hy ? Direction.UP : Direction.DOWN;
+  }
+
+  /** Only called from {@link #run()}: each bot has a single writer. */
+  private void write(ByteBuffer msg) throws IOException {
+    while (msg.hasRemaining()) channel.write(msg);
+  }
+
+  @Override
+  public void close() throws IOException {
+    running = false;
+    channel.close();
+  }
+
+  public int snakeId() { return snakeId; }
+  public RemoteWorld world() { return world; }
+
+  public String summary() {
+    return "snake=" + snakeId + " messages=" + messages + " bytes=" + bytes + " snapshots=" + snapshots
+        + " deltas=" + deltas + " desyncs=" + desyncs + " turns=" + turns
+        + " tick=" + (world == null ? -1 : world.tick());
+  }
+
+  public static void main(String[] args) throws Exception {
+    String host = args.length > 0 ? args[0] : "localhost";
+    int port = args.length > 1 ? Integer.parseInt(args[1]) : 7777;
+    int n = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+    long seconds = args.length > 3 ? Long.parseLong(args[3]) : 10;
+
+    List<BotClient> bots = new ArrayList<>();
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < n; i++) {
+      var bot = new BotClient(new InetSocketAddress(host, port), true, 150, i);
+      bots.add(bot);
+      threads.add(Thread.ofVirtual().name("bot-" + i).start(bot));
+    }
+    Thread.sleep(seconds * 1000);
+    for (var bot : bots) bot.close();
+    for (var t : threads) t.join();
+    for (int i = 0; i < n; i++) System.out.println("bot-" + i + " " + bots.get(i).summary());
+  }
+}
@@ -0,0 +1,110 @@
+package co.eci.snake.net;
+
+import co.eci.snake.core.Board;
+import co.eci.snake.core.Position;
+import co.eci.snake.core.Snake;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Turns the live {@link Board} and snakes into per-tick {@link Protocol#DELTA} messages.
+ *
+ * <p>Snakes are identified on the wire by their index in the list. Only the server's I/O thread
+ * uses an encoder. Each {@link #capture()} takes one consistent
+ * item grid and one {@link Snake.Frame} per snake; the delta is computed against the previous
+ * capture and the matching full {@link Protocol#SNAPSHOT} is built only when a client needs it.
+ */
+final class DeltaEncoder {
+  private final Board board;
+  private final List<Snake> snakes;
+  private final int width;
+  private byte[] prevItems;
+  private byte[] items;
+  private final long[] prevMoves;
+  private final int[] prevLength;
+  private final Snake.Frame[] frames;
+  private long tick;
+
+  DeltaEncoder(Board board, List<Snake> snakes) {
+    this.board = board;
+    this.snakes = List.copyOf(snakes);
+    this.width = board.width();
+    this.prevItems = new byte[board.width() * board.height()];
+    this.items = new byte[prevItems.length];
+    this.prevMoves = new long[snakes.size()];
+    this.prevLength = new int[snakes.size()];
+    this.frames = new Snake.Frame[snakes.size()];
+    board.itemGrid(prevItems);
+    for (int i = 0; i < frames.length; i++) {
+      frames[i] = this.snakes.get(i).frame();
+      prevMoves[i] = frames[i].moves();
+      prevLength[i] = frames[i].body().size();
+    }
+  }
+
+  long tick() { return tick; }
+  int width() { return width; }
+  int height() { return prevItems.length / width; }
+
+  /** Advances one tick and returns the delta from the previous capture. */
+  ByteBuffer capture() {
+    tick++;
+    board.itemGrid(items);
+    var w = new Protocol.Writer().type(Protocol.DELTA).varLong(tick);
+
+    int changed = 0;
+    for (int i = 0; i < items.length; i++) if (items[i] != prevItems[i]) changed++;
+    w.varInt(changed);
+    int last = 0;
+    for (int i = 0; i < items.length; i++) {
+      if (items[i] != prevItems[i]) {
+        w.varInt(i - last).put(items[i]);
+        last = i;
+      }
+    }
+
+    int moved = 0;
+    for (int s = 0; s < frames.length; s++) {
+      frames[s] = snakes.get(s).frame();
+      if (frames[s].moves() != prevMoves[s]) moved++;
+    }
+    w.varInt(moved);
+    for (int s = 0; s < frames.length; s++) {
+      var f = frames[s];
+      if (f.moves() == prevMoves[s]) continue;
+      var body = f.body();
+      int heads = (int) Math.min(f.moves() - prevMoves[s], body.size());
+      w.varInt(s).varInt(heads);
+      for (int k = heads - 1; k >= 0; k--) w.varInt(cell(body.get(k)));
+      w.varInt(prevLength[s] + heads - body.size());
+      prevMoves[s] = f.moves();
+      prevLength[s] = body.size();
+    }
+
+    byte[] t = prevItems;
+    prevItems = items;
+    items = t;
+    return w.finish();
+  }
+
+  /** Full state as of the last {@link #capture()}. */
+  ByteBuffer snapshot() {
+    var w = new Protocol.Writer().type(Protocol.SNAPSHOT).varLong(tick);
+    int count = 0;
+    for (byte b : prevItems) if (b != 0) count++;
+    w.varInt(count);
+    for (int i = 0; i < prevItems.length; i++) {
+      if (prevItems[i] != 0) w.varInt(i).put(prevItems[i]);
+    }
+    w.varInt(frames.length);
+    for (int s = 0; s < frames.length; s++) {
+      var body = frames[s].body();
+      w.varInt(s).varInt(body.size());
+      for (var p : body) w.varInt(cell(p));
+    }
+    return w.finish();
+  }
+
+  private int cell(Position p) { return p.y() * width + p.x(); }
+}
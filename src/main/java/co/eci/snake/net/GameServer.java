@@ -0,0 +1,301 @@
+package co.eci.snake.net;
+
+import co.eci.snake.core.Board;
+import co.eci.snake.core.Direction;
+import co.eci.snake.core.Snake;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Single-threaded NIO server: one selector thread accepts players and spectators, reads their
+ * commands and broadcasts one {@link Protocol#DELTA} per tick.
+ *
+ * <p>Backpressure is per client: every client has a bounded outbound queue. When a slow client
+ * would exceed {@code maxPendingBytes}, its queued deltas are dropped and it is marked for resync;
+ * on the next tick it receives a full {@link Protocol#SNAPSHOT} instead. Fast clients never wait
+ * for slow ones and server memory per client stays bounded.
+ */
+public final class GameServer implements Runnable, AutoCloseable {
+  private final List<Snake> snakes;
+  private final DeltaEncoder encoder;
+  private final Selector selector;
+  private final ServerSocketChannel server;
+  private final long tickNanos;
+  private final int maxPendingBytes;
+  private final boolean[] taken;
+  private final List<Client> clients = new ArrayList<>();
+  private final AtomicBoolean started = new AtomicBoolean();
+  private volatile boolean running = true;
+
+  private long ticks;
+  private long bytesSent;
+  private long resyncs;
+
+  public GameServer(Board board, List<Snake> snakes, int port, long tickMillis) throws IOException {
+    this(board, snakes, new InetSocketAddress(port), tickMillis, 256 * 1024);
+  }
+
+  public GameServer(Board board, List<Snake> snakes, InetSocketAddress address, long tickMillis,
+                    int maxPendingBytes) throws IOException {
+    if (tickMillis <= 0) throw new IllegalArgumentException("tickMillis must be > 0");
+    this.snakes = List.copyOf(Objects.requireNonNull(snakes, "snakes"));
+    this.encoder = new DeltaEncoder(Objects.requireNonNull(board, "board"), this.snakes);
+    this.tickNanos = tickMillis * 1_000_000L;
+    this.maxPendingBytes = maxPendingBytes;
+    this.taken = new boolean[this.snakes.size()];
+    this.selector = Selector.open();
+    this.server = ServerSocketChannel.open();
+    server.bind(address);
+    server.configureBlocking(false);
+    server.register(selector, SelectionKey.OP_ACCEPT);
+  }
+
+  public int port() {
+    return server.socket().getLocalPort();
+  }
+
+  @Override
+  public void run() {
+    // Closed before the loop started: close() already released the socket and selector
+    if (!started.compareAndSet(false, true)) return;
+    long nextTick = System.nanoTime() + tickNanos;
+    try {
+      while (running) {
+        long wait = Math.max(1, (nextTick - System.nanoTime()) / 1_000_000L);
+        selector.select(wait);
+        for (var it = selector.selectedKeys().iterator(); it.hasNext(); ) {
+          var key = it.next();
+          it.remove();
+          if (!key.isValid()) continue;
+          if (key.isAcceptable()) accept();
+          else {
+            var client = (Client) key.attachment();
+            try {
+              if (key.isReadable()) read(client);
+              if (key.isValid() && key.isWritable()) flush(client);
+            } catch (RuntimeException e) {
+              // A bad client must never take the selector thread down with it
+              disconnect(client);
+            }
+          }
+        }
+        if (System.nanoTime() - nextTick >= 0) {
+          broadcast();
+          nextTick += tickNanos;
+        }
+      }
+    } catch (IOException e) {
+      if (running) throw new UncheckedIOException(e);
+    } finally {
+      closeAll();
+    }
+  }
+
+  public void stop() {
+    running = false;
+    selector.wakeup();
+  }
+
+  /**
+   * Stops the loop, which closes every channel on its way out. If the loop never started, nothing
+   * else would release the port, so the channels are closed here.
+   */
+  @Override
+  public void close() {
+    stop();
+    if (started.compareAndSet(false, true)) closeAll();
+  }
+
+  public long ticks() { return ticks; }
+  public long bytesSent() { return bytesSent; }
+  public long resyncs() { return resyncs; }
+
+  private void accept() throws IOException {
+    SocketChannel ch = server.accept();
+    if (ch == null) return;
+    ch.configureBlocking(false);
+    ch.setOption(StandardSocketOptions.TCP_NODELAY, true);
+    var client = new Client(ch);
+    client.key = ch.register(selector, SelectionKey.OP_READ, client);
+    clients.add(client);
+  }
+
+  private void read(Client c) {
+    try {
+      if (c.channel.read(c.in) < 0) {
+        disconnect(c);
+        return;
+      }
+    } catch (IOException e) {
+      disconnect(c);
+      return;
+    }
+    c.in.flip();
+    while (c.in.remaining() >= 4) {
+      int len = c.in.getInt(c.in.position());
+      if (len <= 0 || len > c.in.capacity() - 4) {
+        disconnect(c);
+        return;
+      }
+      if (c.in.remaining() < 4 + len) break;
+      c.in.getInt();
+      int end = c.in.position() + len;
+      int limit = c.in.limit();
+      // The handler sees exactly this frame: reading past it throws instead of eating the next one
+      c.in.limit(end);
+      handle(c, c.in.get(), c.in);
+      if (!c.channel.isOpen()) return;
+      c.in.limit(limit).position(end);
+    }
+    c.in.compact();
+  }
+
+  private void handle(Client c, byte type, ByteBuffer in) {
+    if (in.remaining() != payloadLength(type)) {
+      disconnect(c);
+      return;
+    }
+    switch (type) {
+      case Protocol.JOIN -> {
+        if (c.joined) return;
+        c.joined = true;
+        if (in.get() == Protocol.ROLE_PLAYER) c.snakeId = claimSnake();
+        enqueue(c, new Protocol.Writer().type(Protocol.WELCOME)
+            .varInt(c.snakeId + 1).varInt(encoder.width()).varInt(encoder.height()).finish());
+        c.needsSnapshot = true;
+      }
+      case Protocol.TURN -> {
+        int dir = in.get();
+        if (c.snakeId >= 0 && dir >= 0 && dir < Direction.values().length) {
+          snakes.get(c.snakeId).enqueueTurn(Direction.values()[dir]);
+        }
+      }
+      default -> disconnect(c);
+    }
+  }
+
+  /** Payload bytes after the type byte of a client message, or -1 for types clients may not send. */
+  private static int payloadLength(byte type) {
+    return switch (type) {
+      case Protocol.JOIN, Protocol.TURN -> 1;
+      default -> -1;
+    };
+  }
+
+  private int claimSnake() {
+    for (int i = 0; i < taken.length; i++) {
+      if (!taken[i]) {
+        taken[i] = true;
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private void broadcast() {
+    ticks++;
+    ByteBuffer delta = encoder.capture();
+    ByteBuffer snapshot = null;
+    for (var c : List.copyOf(clients)) {
+      if (!c.joined) continue;
+      if (c.needsSnapshot) {
+        if (snapshot == null) snapshot = encoder.snapshot();
+        if (c.pendingBytes + snapshot.remaining() > maxPendingBytes) continue;
+        c.needsSnapshot = false;
+        enqueue(c, snapshot.duplicate());
+      } else if (c.pendingBytes + delta.remaining() > maxPendingBytes) {
+        dropPending(c);
+      } else {
+        enqueue(c, delta.duplicate());
+      }
+    }
+  }
+
+  private void dropPending(Client c) {
+    // A partially written message must finish or the stream loses framing
+    var head = c.out.peekFirst();
+    boolean keepHead = head != null && head.position() > 0;
+    c.out.clear();
+    c.pendingBytes = 0;
+    if (keepHead) {
+      c.out.add(head);
+      c.pendingBytes = head.remaining();
+    }
+    c.needsSnapshot = true;
+    resyncs++;
+  }
+
+  private void enqueue(Client c, ByteBuffer msg) {
+    c.out.addLast(msg);
+    c.pendingBytes += msg.remaining();
+    flush(c);
+  }
+
+  private void flush(Client c) {
+    try {
+      while (!c.out.isEmpty()) {
+        var head = c.out.peekFirst();
+        int n = c.channel.write(head);
+        bytesSent += n;
+        c.pendingBytes -= n;
+        if (head.hasRemaining()) break;
+        c.out.pollFirst();
+      }
+    } catch (IOException e) {
+      disconnect(c);
+      return;
+    }
+    if (c.key.isValid()) {
+      c.key.interestOps(c.out.isEmpty() ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+    }
+  }
+
+  private void disconnect(Client c) {
+    if (!clients.remove(c)) return;
+    if (c.snakeId >= 0) taken[c.snakeId] = false;
+    c.key.cancel();
+    try {
+      c.channel.close();
+    } catch (IOException ignored) {
+      // already gone
+    }
+  }
+
+  private void closeAll() {
+    for (var c : List.copyOf(clients)) disconnect(c);
+    try {
+      server.close();
+      selector.close();
+    } catch (IOException ignored) {
+      // shutting down
+    }
+  }
+
+  private static final class Client {
+    final SocketChannel channel;
+    final ByteBuffer in = ByteBuffer.allocate(256);
+    final ArrayDeque<ByteBuffer> out = new ArrayDeque<>();
+    SelectionKey key;
+    long pendingBytes;
+    boolean joined;
+    boolean needsSnapshot;
+    int snakeId = -1;
+
+    Client(SocketChannel channel) {
+      this.channel = channel;
+    }
+  }
+}
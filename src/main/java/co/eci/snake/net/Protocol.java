@@ -0,0 +1,116 @@
+package co.eci.snake.net;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Binary wire format shared by {@link GameServer} and {@link BotClient}.
+ *
+ * <p>Every message is {@code [int length][byte type][payload]}, where length counts the type byte
+ * and the payload. Integers inside payloads are unsigned LEB128 varints; cells are addressed by
+ * their row-major index {@code y * width + x}.
+ *
+ * <pre>
+ * client -> server
+ *   JOIN      role (0 spectator, 1 player)
+ *   TURN      direction ordinal
+ * server -> client
+ *   WELCOME   snakeId + 1 (0 = spectator), width, height
+ *   SNAPSHOT  tick, itemCount, (cell, item)*, snakeCount, (id, length, cell*)*   body head first
+ *   DELTA     tick, changedCount, (cellGap, item)*, snakeCount, (id, headCount, cell*, tailsRemoved)*
+ * </pre>
+ *
+ * In a DELTA, changed cells are sent as gaps from the previous changed index and new heads are
+ * sent oldest first, so a client applies them with {@code addFirst} and then drops
+ * {@code tailsRemoved} cells from the tail.
+ */
+public final class Protocol {
+  public static final byte JOIN = 1;
+  public static final byte TURN = 2;
+  public static final byte WELCOME = 10;
+  public static final byte SNAPSHOT = 11;
+  public static final byte DELTA = 12;
+
+  public static final byte ROLE_SPECTATOR = 0;
+  public static final byte ROLE_PLAYER = 1;
+
+  /** Largest frame either side accepts; protects against garbage length prefixes. */
+  public static final int MAX_FRAME = 1 << 20;
+
+  private Protocol() {}
+
+  public static ByteBuffer join(byte role) {
+    return new Writer().type(JOIN).put(role).finish();
+  }
+
+  public static ByteBuffer turn(int directionOrdinal) {
+    return new Writer().type(TURN).put((byte) directionOrdinal).finish();
+  }
+
+  public static int readVarInt(ByteBuffer in) {
+    int value = 0;
+    for (int shift = 0; shift < 35; shift += 7) {
+      byte b = in.get();
+      value |= (b & 0x7F) << shift;
+      if (b >= 0) return value;
+    }
+    throw new IllegalArgumentException("varint too long");
+  }
+
+  public static long readVarLong(ByteBuffer in) {
+    long value = 0;
+    for (int shift = 0; shift < 70; shift += 7) {
+      byte b = in.get();
+      value |= (long) (b & 0x7F) << shift;
+      if (b >= 0) return value;
+    }
+    throw new IllegalArgumentException("varint too long");
+  }
+
+  /** Growable message builder; {@link #finish()} patches the length prefix. */
+  public static final class Writer {
+    private byte[] buf = new byte[64];
+    private int size = 4;
+
+    public Writer type(byte type) { return put(type); }
+
+    public Writer put(byte b) {
+      ensure(1);
+      buf[size++] = b;
+      return this;
+    }
+
+    public Writer varInt(int v) {
+      ensure(5);
+      while ((v & ~0x7F) != 0) {
+        buf[size++] = (byte) ((v & 0x7F) | 0x80);
+        v >>>= 7;
+      }
+      buf[size++] = (byte) v;
+      return this;
+    }
+
+    public Writer varLong(long v) {
+      ensure(10);
+      while ((v & ~0x7FL) != 0) {
+        buf[size++] = (byte) ((v & 0x7F) | 0x80);
+        v >>>= 7;
+      }
+      buf[size++] = (byte) v;
+      return this;
+    }
+
+    public ByteBuffer finish() {
+      int len = size - 4;
+      buf[0] = (byte) (len >>> 24);
+      buf[1] = (byte) (len >>> 16);
+      buf[2] = (byte) (len >>> 8);
+      buf[3] = (byte) len;
+      return ByteBuffer.wrap(buf, 0, size).asReadOnlyBuffer();
+    }
+
+    private void ensure(int n) {
+      if (size + n > buf.length) buf = Arrays.copyOf(buf, Math.max(buf.length * 2, size + n));
+    }
+  }
+}
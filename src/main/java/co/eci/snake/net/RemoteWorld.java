@@ -0,0 +1,88 @@
+package co.eci.snake.net;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Client-side replica of the world rebuilt from {@link Protocol#SNAPSHOT} and
+ * {@link Protocol#DELTA} messages. Not thread-safe; owned by the thread reading the socket.
+ */
+public final class RemoteWorld {
+  private final int width;
+  private final int height;
+  private final byte[] items;
+  private final List<Deque<Integer>> snakes = new ArrayList<>();
+  private long tick = -1;
+  private boolean synced;
+
+  public RemoteWorld(int width, int height) {
+    this.width = width;
+    this.height = height;
+    this.items = new byte[width * height];
+  }
+
+  public int width() { return width; }
+  public int height() { return height; }
+  public long tick() { return tick; }
+  public boolean synced() { return synced; }
+  public int snakeCount() { return snakes.size(); }
+
+  /** Cell value as defined by {@code Board.itemGrid}: 0 empty, otherwise item ordinal + 1. */
+  public byte item(int x, int y) { return items[y * width + x]; }
+
+  /** Body of a snake as cell indices, head first. */
+  public List<Integer> body(int snakeId) { return List.copyOf(snakes.get(snakeId)); }
+
+  public int headX(int snakeId) { return snakes.get(snakeId).peekFirst() % width; }
+  public int headY(int snakeId) { return snakes.get(snakeId).peekFirst() / width; }
+
+  public void applySnapshot(ByteBuffer in) {
+    tick = Protocol.readVarLong(in);
+    Arrays.fill(items, (byte) 0);
+    int count = Protocol.readVarInt(in);
+    for (int i = 0; i < count; i++) {
+      int cell = Protocol.readVarInt(in);
+      items[cell] = in.get();
+    }
+    int n = Protocol.readVarInt(in);
+    snakes.clear();
+    for (int s = 0; s < n; s++) {
+      int id = Protocol.readVarInt(in);
+      int len = Protocol.readVarInt(in);
+      var body = new ArrayDeque<Integer>(len);
+      for (int k = 0; k < len; k++) body.addLast(Protocol.readVarInt(in));
+      while (snakes.size() <= id) snakes.add(new ArrayDeque<>());
+      snakes.set(id, body);
+    }
+    synced = true;
+  }
+
+  /** Applies a delta; returns false (and stays unsynced) if it does not follow the current tick. */
+  public boolean applyDelta(ByteBuffer in) {
+    long t = Protocol.readVarLong(in);
+    if (!synced || t != tick + 1) {
+      synced = false;
+      return false;
+    }
+    tick = t;
+    int changed = Protocol.readVarInt(in);
+    int cell = 0;
+    for (int i = 0; i < changed; i++) {
+      cell += Protocol.readVarInt(in);
+      items[cell] = in.get();
+    }
+    int moved = Protocol.readVarInt(in);
+    for (int i = 0; i < moved; i++) {
+      var body = snakes.get(Protocol.readVarInt(in));
+      int heads = Protocol.readVarInt(in);
+      for (int k = 0; k < heads; k++) body.addFirst(Protocol.readVarInt(in));
+      int tails = Protocol.readVarInt(in);
+      for (int k = 0; k < tails; k++) body.removeLast();
+    }
+    return true;
+  }
+}
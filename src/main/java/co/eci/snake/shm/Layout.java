@@ -0,0 +1,74 @@
+package co.eci.snake.shm;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Byte layout of the shared world file, little-endian throughout.
+ *
+ * <pre>
+ * header (64 bytes)
+ *   0  long  magic "SNAKESHM"
+ *   8  int   version
+ *   12 int   width
+ *   16 int   height
+ *   20 int   maxSnakes
+ *   24 int   slotBytes
+ *   32 long  latest tick published (0 = nothing yet); the slot is {@code tick & 1}
+ * slot 0, slot 1 (slotBytes each)
+ *   0  long  sequence: odd while the writer is inside the slot
+ *   8  long  tick
+ *   16 long  wall clock millis at publish
+ *   24 int   snake count
+ *   32 byte  cells[width * height]: item ordinal + 1 in the low bits, BODY/HEAD flags
+ *   ..       padding to 8, then SNAKE_BYTES per snake:
+ *            int id, int direction ordinal, int headX, int headY, int length, int miceEaten,
+ *            long moves, long droppedTurns
+ * </pre>
+ */
+final class Layout {
+  static final long MAGIC = 0x4D4853454B414E53L; // "SNAKESHM"
+  static final int VERSION = 1;
+
+  static final int HEADER_BYTES = 64;
+  static final int OFF_MAGIC = 0;
+  static final int OFF_VERSION = 8;
+  static final int OFF_WIDTH = 12;
+  static final int OFF_HEIGHT = 16;
+  static final int OFF_MAX_SNAKES = 20;
+  static final int OFF_SLOT_BYTES = 24;
+  static final int OFF_LATEST = 32;
+
+  static final int SLOT_SEQ = 0;
+  static final int SLOT_TICK = 8;
+  static final int SLOT_MILLIS = 16;
+  static final int SLOT_SNAKES = 24;
+  static final int SLOT_CELLS = 32;
+
+  static final int SNAKE_BYTES = 40;
+  static final int SNAKE_ID = 0;
+  static final int SNAKE_DIR = 4;
+  static final int SNAKE_HEAD_X = 8;
+  static final int SNAKE_HEAD_Y = 12;
+  static final int SNAKE_LENGTH = 16;
+  static final int SNAKE_MICE = 20;
+  static final int SNAKE_MOVES = 24;
+  static final int SNAKE_DROPPED = 32;
+
+  static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+  private Layout() {}
+
+  static int snakesOffset(int cells) {
+    return (SLOT_CELLS + cells + 7) & ~7;
+  }
+
+  static int slotBytes(int cells, int maxSnakes) {
+    return snakesOffset(cells) + maxSnakes * SNAKE_BYTES;
+  }
+
+  static int slotBase(long tick, int slotBytes) {
+    return HEADER_BYTES + (int) (tick & 1) * slotBytes;
+  }
+}
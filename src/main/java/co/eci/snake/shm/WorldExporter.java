@@ -0,0 +1,124 @@
+package co.eci.snake.shm;
+
+import co.eci.snake.core.Board;
+import co.eci.snake.core.Position;
+import co.eci.snake.core.Snake;
+
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Publishes the world into a memory-mapped file once per tick so other local processes can watch
+ * it through {@link WorldReader} without touching this JVM.
+ *
+ * <p>The file holds two slots. Tick {@code t} goes to slot {@code t & 1}, so the writer always
+ * fills the slot readers are not being pointed at; each slot carries its own sequence counter
+ * (odd while being written) and the header's {@code latest} is advanced only after the slot is
+ * complete. The board and snakes are copied before the slot is opened to keep the odd window short.
+ *
+ * <p>{@link #publish()} must be called from a single thread, typically the game clock.
+ */
+public final class WorldExporter implements AutoCloseable {
+  private final Board board;
+  private final List<Snake> snakes;
+  private final FileChannel channel;
+  private final MappedByteBuffer buffer;
+  private final int width;
+  private final int slotBytes;
+  private final int snakesOffset;
+  private final byte[] cells;
+  private final Snake.Frame[] frames;
+  private final long[] sequences = new long[2];
+  private long tick;
+
+  public WorldExporter(Path file, Board board, List<Snake> snakes) throws IOException {
+    this.board = Objects.requireNonNull(board, "board");
+    this.snakes = List.copyOf(Objects.requireNonNull(snakes, "snakes"));
+    this.width = board.width();
+    this.cells = new byte[board.width() * board.height()];
+    this.frames = new Snake.Frame[this.snakes.size()];
+    this.snakesOffset = Layout.snakesOffset(cells.length);
+    this.slotBytes = Layout.slotBytes(cells.length, frames.length);
+
+    // Never truncate: a reader still mapping the previous run would fault on the missing pages
+    this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+        StandardOpenOption.WRITE);
+    try {
+      this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Layout.HEADER_BYTES + 2L * slotBytes);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+    buffer.order(ByteOrder.LITTLE_ENDIAN);
+    buffer.putLong(Layout.OFF_MAGIC, Layout.MAGIC);
+    buffer.putInt(Layout.OFF_VERSION, Layout.VERSION);
+    buffer.putInt(Layout.OFF_WIDTH, board.width());
+    buffer.putInt(Layout.OFF_HEIGHT, board.height());
+    buffer.putInt(Layout.OFF_MAX_SNAKES, frames.length);
+    buffer.putInt(Layout.OFF_SLOT_BYTES, slotBytes);
+    Layout.LONGS.setRelease(buffer, Layout.OFF_LATEST, 0L);
+    for (int slot = 0; slot < 2; slot++) {
+      Layout.LONGS.setRelease(buffer, Layout.slotBase(slot, slotBytes) + Layout.SLOT_SEQ, 0L);
+    }
+  }
+
+  public long tick() { return tick; }
+
+  /** Copies the current board and snakes into the next slot and makes it the latest frame. */
+  public void publish() {
+    board.itemGrid(cells);
+    for (int i = 0; i < frames.length; i++) {
+      var f = snakes.get(i).frame();
+      frames[i] = f;
+      var body = f.body();
+      for (int k = 0; k < body.size(); k++) {
+        int c = cell(body.get(k));
+        cells[c] |= (byte) (k == 0 ? WorldFrame.HEAD | WorldFrame.BODY : WorldFrame.BODY);
+      }
+    }
+
+    long t = tick + 1;
+    int base = Layout.slotBase(t, slotBytes);
+    long seq = sequences[(int) (t & 1)];
+    Layout.LONGS.setOpaque(buffer, base + Layout.SLOT_SEQ, seq + 1);
+    VarHandle.storeStoreFence();
+
+    buffer.putLong(base + Layout.SLOT_TICK, t);
+    buffer.putLong(base + Layout.SLOT_MILLIS, System.currentTimeMillis());
+    buffer.putInt(base + Layout.SLOT_SNAKES, frames.length);
+    buffer.put(base + Layout.SLOT_CELLS, cells);
+    for (int i = 0; i < frames.length; i++) {
+      var f = frames[i];
+      var s = snakes.get(i);
+      var head = f.body().get(0);
+      int o = base + snakesOffset + i * Layout.SNAKE_BYTES;
+      buffer.putInt(o + Layout.SNAKE_ID, f.id());
+      buffer.putInt(o + Layout.SNAKE_DIR, s.direction().ordinal());
+      buffer.putInt(o + Layout.SNAKE_HEAD_X, head.x());
+      buffer.putInt(o + Layout.SNAKE_HEAD_Y, head.y());
+      buffer.putInt(o + Layout.SNAKE_LENGTH, f.body().size());
+      buffer.putInt(o + Layout.SNAKE_MICE, s.miceEaten());
+      buffer.putLong(o + Layout.SNAKE_MOVES, f.moves());
+      buffer.putLong(o + Layout.SNAKE_DROPPED, s.droppedTurns());
+    }
+
+    Layout.LONGS.setRelease(buffer, base + Layout.SLOT_SEQ, seq + 2);
+    sequences[(int) (t & 1)] = seq + 2;
+    Layout.LONGS.setRelease(buffer, Layout.OFF_LATEST, t);
+    tick = t;
+  }
+
+  private int cell(Position p) { return p.y() * width + p.x(); }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+}
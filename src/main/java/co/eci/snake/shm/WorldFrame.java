@@ -0,0 +1,67 @@
+package co.eci.snake.shm;
+
+/**
+ * One consistent frame read by {@link WorldReader}. Reusable: {@link WorldReader#read(WorldFrame)}
+ * overwrites it in place so a polling dashboard allocates nothing per frame.
+ */
+public final class WorldFrame {
+  /** Cell flag: some snake's body covers the cell. */
+  public static final int BODY = 0x80;
+  /** Cell flag: some snake's head is on the cell. */
+  public static final int HEAD = 0x40;
+  private static final int ITEM_MASK = 0x0F;
+
+  private final int width;
+  private final int height;
+  final byte[] cells;
+  final int[] ids;
+  final int[] directions;
+  final int[] headX;
+  final int[] headY;
+  final int[] lengths;
+  final int[] miceEaten;
+  final long[] moves;
+  final long[] droppedTurns;
+  long tick;
+  long publishedMillis;
+  int snakeCount;
+
+  WorldFrame(int width, int height, int maxSnakes) {
+    this.width = width;
+    this.height = height;
+    this.cells = new byte[width * height];
+    this.ids = new int[maxSnakes];
+    this.directions = new int[maxSnakes];
+    this.headX = new int[maxSnakes];
+    this.headY = new int[maxSnakes];
+    this.lengths = new int[maxSnakes];
+    this.miceEaten = new int[maxSnakes];
+    this.moves = new long[maxSnakes];
+    this.droppedTurns = new long[maxSnakes];
+  }
+
+  public int width() { return width; }
+  public int height() { return height; }
+  public long tick() { return tick; }
+  /** {@link System#currentTimeMillis()} of the writer when the frame was published. */
+  public long publishedMillis() { return publishedMillis; }
+  public int snakeCount() { return snakeCount; }
+
+  /** Raw cell byte: item ordinal + 1 (see {@code Board.Item}) plus {@link #BODY}/{@link #HEAD} flags. */
+  public int cell(int x, int y) { return cells[y * width + x] & 0xFF; }
+
+  /** Item on the cell as {@code Board.Item.ordinal() + 1}, 0 when empty. */
+  public int item(int x, int y) { return cell(x, y) & ITEM_MASK; }
+
+  public boolean occupied(int x, int y) { return (cell(x, y) & BODY) != 0; }
+
+  public int snakeId(int i) { return ids[i]; }
+  /** {@code Direction.ordinal()} of the snake. */
+  public int direction(int i) { return directions[i]; }
+  public int headX(int i) { return headX[i]; }
+  public int headY(int i) { return headY[i]; }
+  public int length(int i) { return lengths[i]; }
+  public int miceEaten(int i) { return miceEaten[i]; }
+  public long moves(int i) { return moves[i]; }
+  public long droppedTurns(int i) { return droppedTurns[i]; }
+}
@@ -0,0 +1,149 @@
+package co.eci.snake.shm;
+
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Lock-free reader of a file written by {@link WorldExporter}; usable from any local process
+ * that has this class on its classpath.
+ *
+ * <p>A read picks the latest slot, copies it between two reads of that slot's sequence counter
+ * and keeps the copy only if the counter was even and unchanged. Because the writer alternates
+ * slots, a retry is only needed when the reader is slower than a full tick.
+ *
+ * <p>{@code main(file)} prints a one-line summary of each new frame, once per second.
+ */
+public final class WorldReader implements AutoCloseable {
+  private static final int MAX_ATTEMPTS = 64;
+
+  private final FileChannel channel;
+  private final MappedByteBuffer buffer;
+  private final int width;
+  private final int height;
+  private final int maxSnakes;
+  private final int slotBytes;
+  private final int snakesOffset;
+  private long retries;
+
+  private WorldReader(FileChannel channel, MappedByteBuffer buffer) {
+    this.channel = channel;
+    this.buffer = buffer;
+    this.width = buffer.getInt(Layout.OFF_WIDTH);
+    this.height = buffer.getInt(Layout.OFF_HEIGHT);
+    this.maxSnakes = buffer.getInt(Layout.OFF_MAX_SNAKES);
+    this.slotBytes = buffer.getInt(Layout.OFF_SLOT_BYTES);
+    this.snakesOffset = Layout.snakesOffset(width * height);
+  }
+
+  public static WorldReader open(Path file) throws IOException {
+    FileChannel ch = FileChannel.open(file, StandardOpenOption.READ);
+    try {
+      if (ch.size() < Layout.HEADER_BYTES) throw new IOException("Not a world file: " + file);
+      MappedByteBuffer head = ch.map(FileChannel.MapMode.READ_ONLY, 0, Layout.HEADER_BYTES);
+      head.order(ByteOrder.LITTLE_ENDIAN);
+      if (head.getLong(Layout.OFF_MAGIC) != Layout.MAGIC || head.getInt(Layout.OFF_VERSION) != Layout.VERSION) {
+        throw new IOException("Not a world file: " + file);
+      }
+      long size = Layout.HEADER_BYTES + 2L * head.getInt(Layout.OFF_SLOT_BYTES);
+      if (ch.size() < size) throw new IOException("Truncated world file: " + file);
+      MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      buf.order(ByteOrder.LITTLE_ENDIAN);
+      return new WorldReader(ch, buf);
+    } catch (IOException | RuntimeException e) {
+      ch.close();
+      throw e;
+    }
+  }
+
+  public int width() { return width; }
+  public int height() { return height; }
+  public int maxSnakes() { return maxSnakes; }
+
+  /** Tick of the latest published frame, 0 if none; cheap enough to poll. */
+  public long latestTick() {
+    return (long) Layout.LONGS.getAcquire(buffer, Layout.OFF_LATEST);
+  }
+
+  /** Reads that had to be repeated because the writer reused the slot mid-copy. */
+  public long retries() { return retries; }
+
+  public WorldFrame newFrame() {
+    return new WorldFrame(width, height, maxSnakes);
+  }
+
+  /** Latest frame in a new {@link WorldFrame}, or null if nothing was published or the read kept racing. */
+  public WorldFrame read() {
+    var f = newFrame();
+    return read(f) ? f : null;
+  }
+
+  /** Overwrites {@code into} with the latest consistent frame; false if none could be read. */
+  public boolean read(WorldFrame into) {
+    for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+      long latest = latestTick();
+      if (latest == 0) return false;
+      int base = Layout.slotBase(latest, slotBytes);
+      long before = (long) Layout.LONGS.getAcquire(buffer, base + Layout.SLOT_SEQ);
+      if ((before & 1) == 0) {
+        copy(base, into);
+        VarHandle.loadLoadFence();
+        long after = (long) Layout.LONGS.getOpaque(buffer, base + Layout.SLOT_SEQ);
+        if (before == after) return true;
+      }
+      retries++;
+      Thread.onSpinWait();
+    }
+    return false;
+  }
+
+  private void copy(int base, WorldFrame f) {
+    f.tick = buffer.getLong(base + Layout.SLOT_TICK);
+    f.publishedMillis = buffer.getLong(base + Layout.SLOT_MILLIS);
+    // A torn count is discarded by the sequence check, but must not index out of bounds first
+    f.snakeCount = Math.min(Math.max(buffer.getInt(base + Layout.SLOT_SNAKES), 0), maxSnakes);
+    buffer.get(base + Layout.SLOT_CELLS, f.cells);
+    for (int i = 0; i < f.snakeCount; i++) {
+      int o = base + snakesOffset + i * Layout.SNAKE_BYTES;
+      f.ids[i] = buffer.getInt(o + Layout.SNAKE_ID);
+      f.directions[i] = buffer.getInt(o + Layout.SNAKE_DIR);
+      f.headX[i] = buffer.getInt(o + Layout.SNAKE_HEAD_X);
+      f.headY[i] = buffer.getInt(o + Layout.SNAKE_HEAD_Y);
+      f.lengths[i] = buffer.getInt(o + Layout.SNAKE_LENGTH);
+      f.miceEaten[i] = buffer.getInt(o + Layout.SNAKE_MICE);
+      f.moves[i] = buffer.getLong(o + Layout.SNAKE_MOVES);
+      f.droppedTurns[i] = buffer.getLong(o + Layout.SNAKE_DROPPED);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  public static void main(String[] args) throws Exception {
+    var file = Path.of(args.length > 0 ? args[0] : System.getProperty("shm", "snake-world.shm"));
+    try (var reader = open(file)) {
+      var frame = reader.newFrame();
+      long last = 0;
+      while (true) {
+        if (reader.read(frame) && frame.tick() != last) {
+          last = frame.tick();
+          var sb = new StringBuilder();
+          sb.append("tick=").append(frame.tick())
+              .append(" age=").append(System.currentTimeMillis() - frame.publishedMillis()).append("ms");
+          for (int i = 0; i < frame.snakeCount(); i++) {
+            sb.append(" | ").append(frame.snakeId(i)).append(" @").append(frame.headX(i)).append(',')
+                .append(frame.headY(i)).append(" len=").append(frame.length(i)).append(" mice=").append(frame.miceEaten(i));
+          }
+          System.out.println(sb);
+        }
+        Thread.sleep(1000);
+      }
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package co.eci.snake.tournament;
+
+import co.eci.snake.core.Board;
+import co.eci.snake.core.Position;
+
+import java.util.Set;
+
+/**
+ * What strategies see of the board during one tick. The item sets are copied once per tick and
+ * shared by every seat, instead of each strategy copying them again on every step. Obstacles only
+ * change in the spawn stage at the end of the tick; a mouse eaten earlier in the tick can still
+ * appear here until the next one.
+ */
+public record BoardView(int width, int height, Set<Position> mice, Set<Position> obstacles) {
+  public BoardView {
+    mice = Set.copyOf(mice);
+    obstacles = Set.copyOf(obstacles);
+  }
+
+  public static BoardView of(Board board) {
+    return new BoardView(board.width(), board.height(), board.mice(), board.obstacles());
+  }
+}
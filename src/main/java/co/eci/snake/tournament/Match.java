@@ -0,0 +1,75 @@
+package co.eci.snake.tournament;
+
+import co.eci.snake.core.Board;
+import co.eci.snake.core.Direction;
+import co.eci.snake.core.GameController;
+import co.eci.snake.core.Snake;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * One self-contained match: its own board, snakes, controller and seeded RNG, stepped in lockstep on
+ * the calling thread (no clock, no per-snake threads), so many matches can share a small pool.
+ * Item spawns queued during a tick are placed at its end, keeping a seeded match reproducible.
+ *
+ * <p>Tournament rule: running into an obstacle kills the snake instead of bouncing it. The match
+ * ends when at most one snake is alive or after {@code maxTicks}; the winner is the last snake
+ * standing, otherwise the longest survivor (lowest seat on ties).
+ */
+public final class Match {
+  private final MatchConfig config;
+  private final long seed;
+
+  public Match(MatchConfig config, long seed) {
+    this.config = config;
+    this.seed = seed;
+  }
+
+  public MatchResult play() {
+    var rnd = new SplittableRandom(seed);
+    var board = new Board(config.width(), config.height(), rnd.split());
+    int n = config.strategies().size();
+    List<Snake> snakes = new ArrayList<>(n);
+    for (int i = 0; i < n; i++) {
+      var dir = Direction.values()[rnd.nextInt(Direction.values().length)];
+      snakes.add(Snake.of(i, rnd.nextInt(board.width()), rnd.nextInt(board.height()), dir));
+    }
+    var controller = new GameController(snakes);
+    controller.start();
+
+    boolean[] alive = new boolean[n];
+    Arrays.fill(alive, true);
+    int aliveCount = n;
+    long firstDeathTick = -1;
+    long tick = 0;
+    while (tick < config.maxTicks() && aliveCount > 1) {
+      tick++;
+      var view = BoardView.of(board);
+      for (int i = 0; i < n; i++) {
+        if (!alive[i]) continue;
+        var snake = snakes.get(i);
+        snake.turn(config.strategies().get(i).next(snake, view, rnd));
+        if (board.step(snake) == Board.MoveResult.HIT_OBSTACLE) {
+          alive[i] = false;
+          aliveCount--;
+          if (!controller.hasSnakeDied()) firstDeathTick = tick;
+          controller.recordDeath(i);
+        }
+      }
+      board.spawnPending();
+    }
+    controller.stop();
+
+    int[] lengths = new int[n];
+    int winner = -1;
+    for (int i = 0; i < n; i++) {
+      lengths[i] = snakes.get(i).snapshot().size();
+      if (alive[i] && (winner < 0 || lengths[i] > lengths[winner])) winner = i;
+    }
+    return new MatchResult(seed, winner, controller.getFirstDeadSnakeId(), controller.getFirstDeathTime(),
+        firstDeathTick, lengths, tick);
+  }
+}
@@ -0,0 +1,14 @@
+package co.eci.snake.tournament;
+
+import java.util.List;
+import java.util.Objects;
+
+/** Rules shared by every match of a tournament; seat {@code i} is played by {@code strategies.get(i)}. */
+public record MatchConfig(int width, int height, int maxTicks, List<Strategy> strategies) {
+  public MatchConfig {
+    if (width <= 0 || height <= 0) throw new IllegalArgumentException("Board dimensions must be positive");
+    if (maxTicks <= 0) throw new IllegalArgumentException("maxTicks must be > 0");
+    strategies = List.copyOf(Objects.requireNonNull(strategies, "strategies"));
+    if (strategies.size() < 2) throw new IllegalArgumentException("a match needs at least two snakes");
+  }
+}
@@ -0,0 +1,9 @@
+package co.eci.snake.tournament;
+
+/**
+ * Outcome of one match. {@code firstDeadId} is -1 when nobody died; {@code firstDeathMillis} comes
+ * from {@code GameController.getFirstDeathTime()} and {@code firstDeathTick} is its deterministic
+ * counterpart.
+ */
+public record MatchResult(long seed, int winner, int firstDeadId, long firstDeathMillis,
+                          long firstDeathTick, int[] lengths, long ticks) {}
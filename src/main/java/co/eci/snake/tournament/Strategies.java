@@ -0,0 +1,78 @@
+package co.eci.snake.tournament;
+
+import co.eci.snake.core.Direction;
+import co.eci.snake.core.Position;
+import co.eci.snake.core.Snake;
+
+import java.util.random.RandomGenerator;
+
+/** Built-in strategies; {@link #RANDOM} behaves like {@code SnakeRunner}. */
+public enum Strategies implements Strategy {
+  RANDOM {
+    @Override
+    public Direction next(Snake self, BoardView board, RandomGenerator rnd) {
+      return rnd.nextDouble() < 0.10 ? randomDirection(rnd) : self.direction();
+    }
+  },
+  GREEDY {
+    @Override
+    public Direction next(Snake self, BoardView board, RandomGenerator rnd) {
+      var head = self.head();
+      Position target = null;
+      int best = Integer.MAX_VALUE;
+      for (var m : board.mice()) {
+        int d = distance(head, m, board);
+        if (d < best) {
+          best = d;
+          target = m;
+        }
+      }
+      return target == null ? self.direction() : towards(head, target, board);
+    }
+  },
+  CAUTIOUS {
+    @Override
+    public Direction next(Snake self, BoardView board, RandomGenerator rnd) {
+      var head = self.head();
+      var obstacles = board.obstacles();
+      var wanted = GREEDY.next(self, board, rnd);
+      if (!obstacles.contains(ahead(head, wanted, board))) return wanted;
+      for (var d : Direction.values()) {
+        if (!isReverse(self.direction(), d) && !obstacles.contains(ahead(head, d, board))) return d;
+      }
+      return wanted;
+    }
+  };
+
+  static Direction randomDirection(RandomGenerator rnd) {
+    var dirs = Direction.values();
+    return dirs[rnd.nextInt(dirs.length)];
+  }
+
+  static Position ahead(Position p, Direction d, BoardView board) {
+    return new Position(p.x() + d.dx, p.y() + d.dy).wrap(board.width(), board.height());
+  }
+
+  static boolean isReverse(Direction a, Direction b) {
+    return a.dx == -b.dx && a.dy == -b.dy;
+  }
+
+  /** Manhattan distance on the wrap-around board. */
+  static int distance(Position a, Position b, BoardView board) {
+    int dx = Math.abs(a.x() - b.x()), dy = Math.abs(a.y() - b.y());
+    return Math.min(dx, board.width() - dx) + Math.min(dy, board.height() - dy);
+  }
+
+  static Direction towards(Position from, Position to, BoardView board) {
+    int dx = wrapDelta(to.x() - from.x(), board.width());
+    int dy = wrapDelta(to.y() - from.y(), board.height());
+    if (Math.abs(dx) >= Math.abs(dy) && dx != 0) return dx > 0 ? Direction.RIGHT : Direction.LEFT;
+    return dy > 0 ? Direction.DOWN : Direction.UP;
+  }
+
+  private static int wrapDelta(int d, int size) {
+    if (d > size / 2) return d - size;
+    if (d < -size / 2) return d + size;
+    return d;
+  }
+}
@@ -0,0 +1,12 @@
+package co.eci.snake.tournament;
+
+import co.eci.snake.core.Direction;
+import co.eci.snake.core.Snake;
+
+import java.util.random.RandomGenerator;
+
+/** Steering policy evaluated by the tournament: picks the direction before each step from the tick's view. */
+@FunctionalInterface
+public interface Strategy {
+  Direction next(Snake self, BoardView board, RandomGenerator rnd);
+}
@@ -0,0 +1,68 @@
+package co.eci.snake.tournament;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Plays many independent {@link Match}es on one bounded pool of platform threads (matches are
+ * CPU-bound, so one thread per core). Submission blocks through a bounded queue with
+ * caller-runs, so only {@code parallelism * 4} pending matches exist at any time. Every match gets
+ * its own seed derived from the tournament seed, so a run is reproducible.
+ */
+public final class TournamentRunner {
+  private final MatchConfig config;
+  private final int parallelism;
+
+  public TournamentRunner(MatchConfig config, int parallelism) {
+    if (parallelism <= 0) throw new IllegalArgumentException("parallelism must be > 0");
+    this.config = Objects.requireNonNull(config, "config");
+    this.parallelism = parallelism;
+  }
+
+  /** Plays {@code matches} matches, streaming each result to {@code sink} (which must be thread-safe). */
+  public void run(long matches, long seed, Consumer<MatchResult> sink) throws InterruptedException {
+    var pool = new ThreadPoolExecutor(parallelism, parallelism, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(parallelism * 4), new ThreadPoolExecutor.CallerRunsPolicy());
+    var seeds = new SplittableRandom(seed);
+    try {
+      for (long i = 0; i < matches; i++) {
+        var match = new Match(config, seeds.nextLong());
+        pool.execute(() -> sink.accept(match.play()));
+      }
+    } finally {
+      pool.shutdown();
+      pool.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+    }
+  }
+
+  /**
+   * {@code -Dmatches=10000 -Dthreads=<cores> -Dticks=500 -Dseed=1 -Dstrategies=RANDOM,GREEDY,CAUTIOUS
+   * -Dscaling=true} (the last one repeats the run for 1..threads to show matches/s per core count).
+   */
+  public static void main(String[] args) throws InterruptedException {
+    long matches = Long.getLong("matches", 10_000);
+    int threads = Integer.getInteger("threads", Runtime.getRuntime().availableProcessors());
+    long seed = Long.getLong("seed", 1);
+    List<String> names = List.of(System.getProperty("strategies", "RANDOM,GREEDY,CAUTIOUS").split(","));
+    List<Strategy> strategies = new ArrayList<>();
+    for (var name : names) strategies.add(Strategies.valueOf(name.trim().toUpperCase()));
+    var config = new MatchConfig(Integer.getInteger("width", 35), Integer.getInteger("height", 28),
+        Integer.getInteger("ticks", 500), strategies);
+
+    int from = Boolean.getBoolean("scaling") ? 1 : threads;
+    for (int t = from; t <= threads; t++) {
+      var summary = new TournamentSummary(names);
+      long start = System.nanoTime();
+      new TournamentRunner(config, t).run(matches, seed, summary);
+      double secs = (System.nanoTime() - start) / 1e9;
+      System.out.printf("threads=%d matches/s=%.0f (%.2fs)%n", t, summary.matches() / secs, secs);
+      if (t == threads) System.out.print(summary.report());
+    }
+  }
+}
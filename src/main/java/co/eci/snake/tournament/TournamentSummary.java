@@ -0,0 +1,78 @@
+package co.eci.snake.tournament;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Streaming aggregate of {@link MatchResult}s per seat. Results are folded in as they complete and
+ * then discarded, so memory does not grow with the number of matches. Counters are
+ * {@link LongAdder}s so concurrent matches do not contend on a shared lock.
+ */
+public final class TournamentSummary implements Consumer<MatchResult> {
+  private final List<String> seats;
+  private final LongAdder matches = new LongAdder();
+  private final LongAdder draws = new LongAdder();
+  private final LongAdder ticks = new LongAdder();
+  private final LongAdder deaths = new LongAdder();
+  private final LongAdder firstDeathTicks = new LongAdder();
+  private final LongAdder firstDeathMillis = new LongAdder();
+  private final LongAdder[] wins;
+  private final LongAdder[] firstDeaths;
+  private final LongAdder[] lengthSum;
+  private final AtomicLong[] maxLength;
+
+  public TournamentSummary(List<String> seats) {
+    this.seats = List.copyOf(seats);
+    int n = seats.size();
+    this.wins = adders(n);
+    this.firstDeaths = adders(n);
+    this.lengthSum = adders(n);
+    this.maxLength = new AtomicLong[n];
+    for (int i = 0; i < n; i++) maxLength[i] = new AtomicLong();
+  }
+
+  private static LongAdder[] adders(int n) {
+    var a = new LongAdder[n];
+    for (int i = 0; i < n; i++) a[i] = new LongAdder();
+    return a;
+  }
+
+  @Override
+  public void accept(MatchResult r) {
+    matches.increment();
+    ticks.add(r.ticks());
+    if (r.winner() >= 0) wins[r.winner()].increment(); else draws.increment();
+    if (r.firstDeadId() >= 0) {
+      deaths.increment();
+      firstDeaths[r.firstDeadId()].increment();
+      firstDeathTicks.add(r.firstDeathTick());
+      firstDeathMillis.add(r.firstDeathMillis());
+    }
+    for (int i = 0; i < r.lengths().length; i++) {
+      lengthSum[i].add(r.lengths()[i]);
+      maxLength[i].accumulateAndGet(r.lengths()[i], Math::max);
+    }
+  }
+
+  public long matches() { return matches.sum(); }
+
+  public long wins(int seat) { return wins[seat].sum(); }
+
+  public String report() {
+    long m = Math.max(1, matches.sum());
+    long d = Math.max(1, deaths.sum());
+    var sb = new StringBuilder();
+    sb.append(String.format(Locale.ROOT, "matches=%d draws=%d avgTicks=%.1f avgFirstDeathTick=%.1f avgFirstDeathMs=%.2f%n",
+        matches.sum(), draws.sum(), (double) ticks.sum() / m,
+        (double) firstDeathTicks.sum() / d, (double) firstDeathMillis.sum() / d));
+    for (int i = 0; i < seats.size(); i++) {
+      sb.append(String.format(Locale.ROOT, "  seat %d %-10s wins=%6.2f%% firstDeath=%6.2f%% avgLength=%6.2f maxLength=%d%n",
+          i, seats.get(i), 100.0 * wins[i].sum() / m, 100.0 * firstDeaths[i].sum() / m,
+          (double) lengthSum[i].sum() / m, maxLength[i].get()));
+    }
+    return sb.toString();
+  }
+}
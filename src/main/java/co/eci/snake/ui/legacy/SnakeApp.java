@@ -6,11 +6,20 @@ import co.eci.snake.core.Direction;
 import co.eci.snake.core.GameController;
 import co.eci.snake.core.Position;
 import co.eci.snake.core.Snake;
+import co.eci.snake.core.SpawnPolicy;
 import co.eci.snake.core.engine.GameClock;
+import co.eci.snake.core.metrics.StatsHistory;
+import co.eci.snake.jfr.FrameRenderEvent;
+import co.eci.snake.shm.WorldExporter;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executors;
@@ -22,11 +31,14 @@ public final class SnakeApp extends JFrame {
   private final GamePanel gamePanel;
   private final JButton startButton;
   private final JButton pauseButton;
+  private final JButton statsButton;
   private final GameClock clock;
   private final GameController controller;
   private final java.util.List<Snake> snakes = new java.util.ArrayList<>();
+  private final StatsHistory statsHistory;
   private final StatsPanel statsPanel;
   private final JDialog statsDialog;
+  private final WorldExporter exporter;
   private ExecutorService executor;
   private boolean gameStarted = false;
 
@@ -55,14 +67,14 @@ public final class SnakeApp extends JFrame {
 
   public SnakeApp() {
     super("The Snake Race");
-    this.board = new Board(35, 28);
+    this.board = new Board(35, 28, null, SpawnPolicy.fromSystemProperties());
 
     int N = Integer.getInteger("snakes", 2);
     for (int i = 0; i < N; i++) {
       int x = 2 + (i * 3) % board.width();
       int y = 2 + (i * 2) % board.height();
       var dir = Direction.values()[i % Direction.values().length];
-      snakes.add(Snake.of(x, y, dir));
+      snakes.add(Snake.of(i, x, y, dir));
     }
 
     this.controller = new GameController(snakes);
@@ -70,16 +82,20 @@ public final class SnakeApp extends JFrame {
     this.startButton = new JButton("Start");
     this.pauseButton = new JButton("Pause");
     pauseButton.setEnabled(false);
+    this.statsButton = new JButton("Stats");
 
-    this.statsPanel = new StatsPanel();
+    // One sample per clock tick; -Dstats.window samples are kept per series (256 * 60 ms ~ 15 s)
+    this.statsHistory = new StatsHistory(snakes, Integer.getInteger("stats.window", 256));
+    this.statsPanel = new StatsPanel(statsHistory);
     this.statsDialog = new JDialog(this, "Game Statistics", false);
-    statsDialog.add(statsPanel);
-    statsDialog.setSize(450, 350);
+    statsDialog.add(new JScrollPane(statsPanel));
+    statsDialog.setSize(600, 460);
     statsDialog.setLocationRelativeTo(this);
 
     JPanel buttonPanel = new JPanel();
     buttonPanel.add(startButton);
     buttonPanel.add(pauseButton);
+    buttonPanel.add(statsButton);
 
     setLayout(new BorderLayout());
     add(gamePanel, BorderLayout.CENTER);
@@ -89,16 +105,53 @@ public final class SnakeApp extends JFrame {
     pack();
     setLocationRelativeTo(null);
 
-    this.clock = new GameClock(60, () -> SwingUtilities.invokeLater(gamePanel::repaint));
+    this.exporter = openExporter();
+    this.clock = new GameClock(60, () -> {
+      board.spawnPending();
+      if (exporter != null) exporter.publish();
+      SwingUtilities.invokeLater(this::onTick);
+    });
 
     startButton.addActionListener(e -> startGame());
     pauseButton.addActionListener(e -> togglePause());
+    statsButton.addActionListener(e -> statsDialog.setVisible(!statsDialog.isVisible()));
+    // Runs before EXIT_ON_CLOSE exits the JVM
+    addWindowListener(new WindowAdapter() {
+      @Override
+      public void windowClosing(WindowEvent e) {
+        shutdown();
+      }
+    });
 
     setupKeyBindings();
 
     setVisible(true);
   }
 
+  /** {@code -Dshm=file} mirrors the world into a memory-mapped file once per clock tick. */
+  private WorldExporter openExporter() {
+    String file = System.getProperty("shm");
+    if (file == null || file.isBlank()) return null;
+    try {
+      return new WorldExporter(Path.of(file), board, snakes);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Stops the clock first so no tick publishes into the exporter while it is being closed. */
+  private void shutdown() {
+    clock.close();
+    if (executor != null) executor.shutdownNow();
+    if (exporter != null) {
+      try {
+        exporter.close();
+      } catch (IOException e) {
+        System.err.println("Cannot close " + System.getProperty("shm") + ": " + e.getMessage());
+      }
+    }
+  }
+
   private void startGame() {
     if (!gameStarted) {
       gameStarted = true;
@@ -127,20 +180,23 @@ public final class SnakeApp extends JFrame {
     }
   }
 
+  /** EDT side of a clock tick: sampling here keeps the history single-threaded. */
+  private void onTick() {
+    statsHistory.sample(System.nanoTime());
+    gamePanel.repaint();
+    if (statsDialog.isVisible()) statsPanel.repaint();
+  }
+
   private void showStats() {
-    var stats = snakes.stream()
-        .map(s -> new co.eci.snake.core.SnakeStats(
-            snakes.indexOf(s),
-            s.snapshot().size(),
-            0,
-            true,
-            controller.getElapsedTime()
-        ))
-        .toList();
-    statsPanel.updateStats(stats);
     statsDialog.setVisible(true);
   }
 
+  static Color colorOf(int index) {
+    if (index < PALETTE.length) return PALETTE[index];
+    float hue = (index % 20) / 20.0f;
+    return Color.getHSBColor(hue, 0.7f, 0.9f);
+  }
+
   private void setupKeyBindings() {
     var player = snakes.get(0);
     InputMap im = gamePanel.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW);
@@ -155,25 +211,25 @@ public final class SnakeApp extends JFrame {
     am.put("left", new AbstractAction() {
       @Override
       public void actionPerformed(ActionEvent e) {
-        player.turn(Direction.LEFT);
+        player.enqueueTurn(Direction.LEFT);
       }
     });
     am.put("right", new AbstractAction() {
       @Override
       public void actionPerformed(ActionEvent e) {
-        player.turn(Direction.RIGHT);
+        player.enqueueTurn(Direction.RIGHT);
       }
     });
     am.put("up", new AbstractAction() {
       @Override
       public void actionPerformed(ActionEvent e) {
-        player.turn(Direction.UP);
+        player.enqueueTurn(Direction.UP);
       }
     });
     am.put("down", new AbstractAction() {
       @Override
       public void actionPerformed(ActionEvent e) {
-        player.turn(Direction.DOWN);
+        player.enqueueTurn(Direction.DOWN);
       }
     });
     am.put("pause", new AbstractAction() {
@@ -195,25 +251,25 @@ public final class SnakeApp extends JFrame {
       am.put("p2-left", new AbstractAction() {
         @Override
         public void actionPerformed(ActionEvent e) {
-          p2.turn(Direction.LEFT);
+          p2.enqueueTurn(Direction.LEFT);
         }
       });
       am.put("p2-right", new AbstractAction() {
         @Override
         public void actionPerformed(ActionEvent e) {
-          p2.turn(Direction.RIGHT);
+          p2.enqueueTurn(Direction.RIGHT);
         }
       });
       am.put("p2-up", new AbstractAction() {
         @Override
         public void actionPerformed(ActionEvent e) {
-          p2.turn(Direction.UP);
+          p2.enqueueTurn(Direction.UP);
         }
       });
       am.put("p2-down", new AbstractAction() {
         @Override
         public void actionPerformed(ActionEvent e) {
-          p2.turn(Direction.DOWN);
+          p2.enqueueTurn(Direction.DOWN);
         }
       });
     }
@@ -239,6 +295,8 @@ public final class SnakeApp extends JFrame {
 
     @Override
     protected void paintComponent(Graphics g) {
+      var event = new FrameRenderEvent();
+      event.begin();
       super.paintComponent(g);
       var g2 = (Graphics2D) g.create();
       g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
@@ -250,7 +308,8 @@ public final class SnakeApp extends JFrame {
         g2.drawLine(0, y * cell, board.width() * cell, y * cell);
 
       g2.setColor(new Color(255, 102, 0));
-      for (var p : board.obstacles()) {
+      var obstacles = board.obstacles();
+      for (var p : obstacles) {
         int x = p.x() * cell, y = p.y() * cell;
         g2.fillRect(x + 2, y + 2, cell - 4, cell - 4);
         g2.setColor(Color.RED);
@@ -261,7 +320,8 @@ public final class SnakeApp extends JFrame {
       }
 
       g2.setColor(Color.BLACK);
-      for (var p : board.mice()) {
+      var mice = board.mice();
+      for (var p : mice) {
         int x = p.x() * cell, y = p.y() * cell;
         g2.fillOval(x + 4, y + 4, cell - 8, cell - 8);
         g2.setColor(Color.WHITE);
@@ -270,6 +330,7 @@ public final class SnakeApp extends JFrame {
       }
 
       Map<Position, Position> tp = board.teleports();
+      int items = obstacles.size() + mice.size() + tp.size();
       g2.setColor(Color.RED);
       for (var entry : tp.entrySet()) {
         Position from = entry.getKey();
@@ -280,7 +341,9 @@ public final class SnakeApp extends JFrame {
       }
 
       g2.setColor(Color.BLACK);
-      for (var p : board.turbo()) {
+      var turbo = board.turbo();
+      items += turbo.size();
+      for (var p : turbo) {
         int x = p.x() * cell, y = p.y() * cell;
         int[] xs = { x + 8, x + 12, x + 10, x + 14, x + 6, x + 10 };
         int[] ys = { y + 2, y + 2, y + 8, y + 8, y + 16, y + 10 };
@@ -291,7 +354,7 @@ public final class SnakeApp extends JFrame {
       int idx = 0;
       for (Snake s : snakes) {
         var body = s.snapshot().toArray(new Position[0]);
-        Color snakeColor = idx < PALETTE.length ? PALETTE[idx] : generateColor(idx);
+        Color snakeColor = colorOf(idx);
 
         for (int i = 0; i < body.length; i++) {
           var p = body[i];
@@ -318,13 +381,11 @@ public final class SnakeApp extends JFrame {
         idx++;
       }
       g2.dispose();
-    }
-
-    private Color generateColor(int index) {
-      float hue = (index % 20) / 20.0f;
-      float saturation = 0.7f;
-      float brightness = 0.9f;
-      return Color.getHSBColor(hue, saturation, brightness);
+      if (event.shouldCommit()) {
+        event.snakes = snakes.size();
+        event.items = items;
+        event.commit();
+      }
     }
   }
 
@@ -1,70 +1,122 @@
 package co.eci.snake.ui.legacy;
 
-import co.eci.snake.core.SnakeStats;
+import co.eci.snake.core.metrics.SnakeHistory;
+import co.eci.snake.core.metrics.StatsHistory;
+import co.eci.snake.core.metrics.TimeSeries;
 
 import javax.swing.*;
 import java.awt.*;
-import java.util.List;
+import java.util.Locale;
 
+/**
+ * Live statistics: three leaderboards and, per snake, sparklines of length, mice eaten and
+ * moves/sec over the sampling window with their min/max/avg. Everything shown is precomputed by
+ * {@link StatsHistory#sample(long)}; painting only reads it.
+ */
 public final class StatsPanel extends JPanel {
-  private List<SnakeStats> stats;
+  private static final Font TITLE_FONT = new Font("Arial", Font.BOLD, 18);
+  private static final Font HEADER_FONT = new Font("Arial", Font.BOLD, 13);
+  private static final Font TEXT_FONT = new Font("Arial", Font.PLAIN, 12);
+  private static final Color SPARK_BACKGROUND = new Color(245, 245, 245);
 
-  public StatsPanel() {
-    setBackground(Color.WHITE);
-    setPreferredSize(new Dimension(400, 300));
-  }
+  private static final int MARGIN = 20;
+  private static final int LEADERS = 3;
+  private static final int BOARDS_HEIGHT = 30 + 20 + LEADERS * 16 + 20;
+  private static final int ROW_HEIGHT = 62;
+  private static final int SPARK_WIDTH = 120;
+  private static final int SPARK_HEIGHT = 22;
+  private static final int SPARK_GAP = 40;
 
-  public void updateStats(List<SnakeStats> newStats) {
-    this.stats = newStats;
-    repaint();
+  private final StatsHistory history;
+  private final int[] xs;
+  private final int[] ys;
+
+  public StatsPanel(StatsHistory history) {
+    this.history = history;
+    int capacity = history.size() == 0 ? 1 : history.get(0).length().capacity();
+    this.xs = new int[capacity];
+    this.ys = new int[capacity];
+    setBackground(Color.WHITE);
+    setPreferredSize(new Dimension(2 * MARGIN + 3 * (SPARK_WIDTH + SPARK_GAP) + SPARK_GAP,
+        MARGIN + BOARDS_HEIGHT + history.size() * ROW_HEIGHT + MARGIN));
   }
 
   @Override
   protected void paintComponent(Graphics g) {
     super.paintComponent(g);
-    if (stats == null || stats.isEmpty()) {
+    if (history.samples() == 0) {
       g.setColor(Color.BLACK);
-      g.setFont(new Font("Arial", Font.PLAIN, 16));
-      g.drawString("No snake statistics available", 20, 30);
+      g.setFont(TEXT_FONT);
+      g.drawString("No snake statistics available", MARGIN, 30);
       return;
     }
 
     g.setColor(Color.BLACK);
-    g.setFont(new Font("Arial", Font.BOLD, 18));
-    g.drawString("Game Statistics", 20, 30);
+    g.setFont(TITLE_FONT);
+    g.drawString("Game Statistics", MARGIN, 30);
 
-    SnakeStats longest = stats.stream()
-        .filter(s -> s.alive())
-        .max((a, b) -> Integer.compare(a.length(), b.length()))
-        .orElse(null);
+    int y = 30 + 20;
+    int col = SPARK_WIDTH + SPARK_GAP;
+    leaderboard(g, "Longest", StatsHistory.Ranking.LENGTH, MARGIN, y);
+    leaderboard(g, "Most mice", StatsHistory.Ranking.MICE, MARGIN + col, y);
+    leaderboard(g, "Fastest (moves/s)", StatsHistory.Ranking.SPEED, MARGIN + 2 * col, y);
 
-    g.setFont(new Font("Arial", Font.PLAIN, 14));
-    int y = 70;
-
-    if (longest != null) {
-      g.setColor(Color.DARK_GRAY);
-      g.drawString("Longest snake alive:", 20, y);
-      y += 25;
-      g.setColor(Color.BLUE);
-      g.drawString("  Snake " + longest.id() + " - Length: " + longest.length(), 20, y);
-      y += 40;
+    y = MARGIN + BOARDS_HEIGHT;
+    for (int i = 0; i < history.size(); i++) {
+      var h = history.get(i);
+      g.setFont(HEADER_FONT);
+      g.setColor(SnakeApp.colorOf(i));
+      g.drawString("Snake " + h.id(), MARGIN, y);
+      int top = y + 6;
+      sparkline(g, "len", h.length(), MARGIN, top, false);
+      sparkline(g, "mice", h.mice(), MARGIN + col, top, false);
+      sparkline(g, "mv/s", h.movesPerSecond(), MARGIN + 2 * col, top, true);
+      y += ROW_HEIGHT;
     }
+  }
 
+  private void leaderboard(Graphics g, String title, StatsHistory.Ranking ranking, int x, int y) {
+    g.setFont(HEADER_FONT);
     g.setColor(Color.DARK_GRAY);
-    g.drawString("All snakes:", 20, y);
-    y += 25;
+    g.drawString(title, x, y);
+    g.setFont(TEXT_FONT);
+    for (int place = 0; place < Math.min(LEADERS, history.size()); place++) {
+      int idx = history.ranked(ranking, place);
+      SnakeHistory h = history.get(idx);
+      double value = switch (ranking) {
+        case LENGTH -> h.length().last();
+        case MICE -> h.mice().last();
+        case SPEED -> h.movesPerSecond().last();
+      };
+      g.setColor(SnakeApp.colorOf(idx));
+      g.drawString((place + 1) + ". Snake " + h.id() + "  " + format(value, ranking == StatsHistory.Ranking.SPEED),
+          x, y + 18 + place * 16);
+    }
+  }
+
+  private void sparkline(Graphics g, String label, TimeSeries series, int x, int y, boolean decimals) {
+    g.setColor(SPARK_BACKGROUND);
+    g.fillRect(x, y, SPARK_WIDTH, SPARK_HEIGHT);
 
-    for (SnakeStats stat : stats) {
-      String status = stat.alive() ? "Alive" : "Dead";
-      String info = "  Snake " + stat.id() + ": Length " + stat.length() +
-          " | Status: " + status + " | Time: " + (stat.survivalTime() / 1000) + "s";
-      if (stat.alive()) {
-        g.setColor(Color.GREEN);
-      } else {
-        g.setColor(Color.RED);
-      }
-      g.drawString(info, 20, y);
-      y += 20;
+    int n = series.size();
+    double min = series.min(), max = series.max();
+    double span = max > min ? max - min : 1;
+    for (int k = 0; k < n; k++) {
+      xs[k] = x + (n == 1 ? SPARK_WIDTH : k * (SPARK_WIDTH - 1) / (n - 1));
+      ys[k] = y + SPARK_HEIGHT - 1 - (int) Math.round((series.get(k) - min) / span * (SPARK_HEIGHT - 2));
     }
+    g.setColor(Color.BLUE);
+    g.drawPolyline(xs, ys, n);
+
+    g.setFont(TEXT_FONT);
+    g.setColor(Color.DARK_GRAY);
+    g.drawString(label + " " + format(series.last(), decimals)
+        + "  [" + format(min, decimals) + ".." + format(max, decimals) + "] avg " + format(series.mean(), true),
+        x, y + SPARK_HEIGHT + 13);
+  }
+
+  static String format(double v, boolean decimals) {
+    if (!decimals) return Long.toString(Math.round(v));
+    return String.format(Locale.ROOT, "%.1f", v);
   }
 }
@@ -0,0 +1,45 @@
+package co.eci.primefinder;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ControlConfigTest {
+
+    @Test
+    void argumentsOverrideDefaults() {
+        ControlConfig c = ControlConfig.fromArgs(new String[] {
+                "--max=1000", "--threads=4", "--interval=250", "--engine=batch", "--file=p.bin", "--batch" });
+        assertEquals(1000, c.maxValue());
+        assertEquals(4, c.threads());
+        assertEquals(250, c.intervalMillis());
+        assertEquals(PrimeEngine.BATCH, c.engine());
+        assertEquals("p.bin", c.file());
+        assertTrue(c.batch());
+    }
+
+    @Test
+    void autoEngineAndBlankFileMeanNone() {
+        ControlConfig c = ControlConfig.fromArgs(new String[] { "--engine=auto", "--file= ", "--batch=false" });
+        assertNull(c.engine());
+        assertNull(c.file());
+        assertFalse(c.batch());
+    }
+
+    @Test
+    void invalidValuesAreRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> ControlConfig.fromArgs(new String[] { "--max=" + Integer.MAX_VALUE }));
+        assertThrows(IllegalArgumentException.class, () -> ControlConfig.fromArgs(new String[] { "--max=0" }));
+        assertThrows(IllegalArgumentException.class,
+                () -> ControlConfig.fromArgs(new String[] { "--max=2", "--threads=3" }));
+        assertThrows(IllegalArgumentException.class, () -> ControlConfig.fromArgs(new String[] { "--max" }));
+        assertThrows(IllegalArgumentException.class, () -> ControlConfig.fromArgs(new String[] { "--bogus" }));
+    }
+
+    @Test
+    void largestSupportedMaxIsAccepted() {
+        ControlConfig c = ControlConfig.fromArgs(new String[] { "--max=" + (Integer.MAX_VALUE - 1), "--threads=7" });
+        assertEquals(Integer.MAX_VALUE - 1, c.maxValue());
+    }
+}
@@ -0,0 +1,102 @@
+package co.eci.primefinder;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventEmissionTest {
+
+    private static final String CHUNK = "co.eci.primefinder.Chunk";
+    private static final String PAUSE = "co.eci.primefinder.Pause";
+
+    @Test
+    void pauseTransitionsAreRecordedOnlyWhenTheStateChanges() throws Exception {
+        List<RecordedEvent> events = record(Configuration.getConfiguration("default").getSettings(), () -> {
+            PauseManager pm = new PauseManager();
+            pm.pause();
+            pm.pause(); // sin cambio, sin evento
+            pm.resume();
+            pm.resume();
+        });
+        List<RecordedEvent> pauses = named(events, PAUSE);
+        assertEquals(2, pauses.size());
+        assertTrue(pauses.get(0).getBoolean("paused"));
+        assertFalse(pauses.get(1).getBoolean("paused"));
+        assertEquals(0, pauses.get(0).getInt("waitingWorkers"));
+    }
+
+    @Test
+    void chunksAreOffByDefault() throws Exception {
+        List<RecordedEvent> events = record(Configuration.getConfiguration("default").getSettings(),
+                EventEmissionTest::scan);
+        assertTrue(named(events, CHUNK).isEmpty());
+    }
+
+    @Test
+    void snakeProfileRecordsEveryChunk() throws Exception {
+        Configuration jfc;
+        try (var in = EventEmissionTest.class.getResourceAsStream("/jfr/snake.jfc")) {
+            assertNotNull(in, "jfr/snake.jfc no esta en el classpath");
+            jfc = Configuration.create(new InputStreamReader(in, StandardCharsets.UTF_8));
+        }
+        List<RecordedEvent> chunks = named(record(jfc.getSettings(), EventEmissionTest::scan), CHUNK);
+
+        // [0, 10000) en bloques de 4096: 3 bloques contiguos que suman pi(10000) = 1229
+        assertEquals(3, chunks.size());
+        int next = 0;
+        int primes = 0;
+        for (RecordedEvent e : chunks) {
+            assertEquals(next, e.getInt("from"));
+            assertEquals("BATCH", e.getString("engine"));
+            assertEquals("jfr-worker", e.getString("worker"));
+            next = e.getInt("to");
+            primes += e.getInt("primes");
+        }
+        assertEquals(10_000, next);
+        assertEquals(1_229, primes);
+    }
+
+    private static void scan() throws InterruptedException {
+        PrimeFinderThread t = new PrimeFinderThread(0, 10_000, new PauseManager(), null, 0, PrimeEngine.BATCH);
+        t.setName("jfr-worker");
+        t.start();
+        t.join();
+    }
+
+    private interface Work {
+        void run() throws Exception;
+    }
+
+    /**
+     * Ejecuta work mientras graba con settings y devuelve los eventos de PrimeFinder en orden
+     */
+    private static List<RecordedEvent> record(Map<String, String> settings, Work work) throws Exception {
+        List<RecordedEvent> events = Collections.synchronizedList(new ArrayList<>());
+        try (RecordingStream rs = new RecordingStream()) {
+            rs.setSettings(settings);
+            rs.onEvent(e -> {
+                if (e.getEventType().getName().startsWith("co.eci.primefinder.")) events.add(e);
+            });
+            rs.startAsync();
+            work.run();
+            rs.stop();
+        }
+        List<RecordedEvent> sorted = new ArrayList<>(events);
+        sorted.sort((a, b) -> a.getStartTime().compareTo(b.getStartTime()));
+        return sorted;
+    }
+
+    private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).toList();
+    }
+}
@@ -0,0 +1,79 @@
+package co.eci.primefinder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimeEngineTest {
+
+    private static final PrimeEngine[] ENGINES = PrimeEngine.values();
+
+    @Test
+    void enginesAgreeOnSmallNumbers() {
+        for (int n = -5; n <= 200_000; n++) {
+            boolean expected = PrimeEngine.TRIAL.isPrime(n);
+            for (PrimeEngine e : ENGINES) {
+                assertEquals(expected, e.isPrime(n), e + " n=" + n);
+            }
+        }
+        assertEquals(17_984, PrimeEngine.TRIAL.scan(0, 200_001, n -> { }));
+    }
+
+    @Test
+    void enginesAgreeNearIntegerMaxValue() {
+        int from = Integer.MAX_VALUE - 20_000;
+        for (PrimeEngine e : ENGINES) {
+            assertTrue(e.isPrime(Integer.MAX_VALUE), e + " 2^31-1 is prime");
+            assertFalse(e.isPrime(Integer.MAX_VALUE - 1), e.toString());
+        }
+        List<Integer> expected = scan(PrimeEngine.TRIAL, from, Integer.MAX_VALUE);
+        assertFalse(expected.isEmpty());
+        for (PrimeEngine e : ENGINES) {
+            assertEquals(expected, scan(e, from, Integer.MAX_VALUE), e.toString());
+        }
+    }
+
+    @Test
+    void millerRabinRejectsStrongPseudoprimes() {
+        // Pseudoprimos fuertes para alguna de las bases usadas y numeros de Carmichael
+        int[] composites = { 2047, 3277, 4033, 4681, 8321, 561, 1105, 1729, 25_326_001, 1_373_653 };
+        for (int n : composites) {
+            assertFalse(PrimeEngine.MILLER_RABIN.isPrime(n), "n=" + n);
+            assertFalse(PrimeEngine.BATCH.isPrime(n), "n=" + n);
+        }
+        assertTrue(PrimeEngine.MILLER_RABIN.isPrime(1_000_000_007));
+        for (PrimeEngine e : ENGINES) {
+            assertFalse(e.isPrime(46_309 * 46_327), e + " semiprimo cerca de Integer.MAX_VALUE");
+        }
+    }
+
+    @Test
+    void batchScanMatchesTrialOnUnalignedRanges() {
+        int[][] ranges = { { 0, 1 }, { 0, 64 }, { 1, 65 }, { 63, 130 }, { 1_000_003, 1_004_099 }, { 50_000, 50_000 } };
+        for (int[] r : ranges) {
+            assertEquals(scan(PrimeEngine.TRIAL, r[0], r[1]), scan(PrimeEngine.BATCH, r[0], r[1]),
+                    "[" + r[0] + ", " + r[1] + ")");
+        }
+    }
+
+    @Test
+    void engineChoiceFollowsRangeLengthAndMagnitude() {
+        assertEquals(PrimeEngine.BATCH, PrimeEngine.forRange(0, 1 << 20));
+        assertEquals(PrimeEngine.BATCH, PrimeEngine.forRange(Integer.MAX_VALUE - 4096, Integer.MAX_VALUE));
+        assertEquals(PrimeEngine.BATCH, PrimeEngine.forRange(0, PrimeEngine.BATCH_MIN_RANGE));
+        assertEquals(PrimeEngine.TRIAL, PrimeEngine.forRange(0, PrimeEngine.BATCH_MIN_RANGE - 1));
+        assertEquals(PrimeEngine.TRIAL, PrimeEngine.forRange(0, 100));
+        assertEquals(PrimeEngine.MILLER_RABIN, PrimeEngine.forRange(Integer.MAX_VALUE - 100, Integer.MAX_VALUE));
+        assertEquals(PrimeEngine.MILLER_RABIN, PrimeEngine.forRange(1 << 20, (1 << 20) + 10));
+    }
+
+    private static List<Integer> scan(PrimeEngine engine, int from, int to) {
+        List<Integer> primes = new ArrayList<>();
+        int found = engine.scan(from, to, primes::add);
+        assertEquals(primes.size(), found);
+        return primes;
+    }
+}
@@ -0,0 +1,111 @@
+package co.eci.primefinder;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimeIndexTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void countsMatchBruteForceAcrossBlocks() throws IOException {
+        // Varios bloques de 64K y un ultimo sub-bloque incompleto
+        int max = 3 * 65_536 + 1_000;
+        try (PrimeStore store = filled(max)) {
+            int[] pi = prefixCounts(max);
+            PrimeIndex index = PrimeIndex.build(store, 0);
+            assertEquals(max + 1, index.limit());
+            assertEquals(pi[max + 1], index.totalPrimes());
+            for (int x = 0; x <= max + 1; x++) {
+                assertEquals(pi[x], index.primePi(x), "x=" + x);
+            }
+            SplittableRandom rnd = new SplittableRandom(7);
+            for (int i = 0; i < 10_000; i++) {
+                int a = rnd.nextInt(max + 2);
+                int b = rnd.nextInt(max + 2);
+                int expected = a >= b ? 0 : pi[b] - pi[a];
+                assertEquals(expected, index.primeCount(a, b), "[" + a + ", " + b + ")");
+            }
+        }
+    }
+
+    @Test
+    void nthPrimeInvertsPrimePi() throws IOException {
+        int max = 2 * 65_536 + 777;
+        try (PrimeStore store = filled(max)) {
+            PrimeIndex index = PrimeIndex.build(store);
+            int k = 0;
+            for (int n = 0; n <= max; n++) {
+                if (PrimeEngine.isPrimeTrial(n)) {
+                    k++;
+                    assertEquals(n, index.nthPrime(k), "k=" + k);
+                }
+            }
+            assertEquals(-1, index.nthPrime(k + 1));
+            assertThrows(IllegalArgumentException.class, () -> index.nthPrime(0));
+        }
+    }
+
+    @Test
+    void exactBlockBoundaryAndTinyStores() throws IOException {
+        for (int max : new int[] { 1, 63, 64, 511, 512, 65_535, 65_536 }) {
+            try (PrimeStore store = filled(max)) {
+                int[] pi = prefixCounts(max);
+                PrimeIndex index = PrimeIndex.build(store);
+                assertEquals(pi[max + 1], index.totalPrimes(), "max=" + max);
+                assertEquals(pi[max + 1], index.primeCount(0, max + 1), "max=" + max);
+                assertEquals(pi[max / 2], index.primePi(max / 2), "max=" + max);
+            }
+        }
+    }
+
+    @Test
+    void cachedAndUncachedAgreeOnRepeatedRanges() throws IOException {
+        try (PrimeStore store = filled(100_000)) {
+            PrimeIndex uncached = PrimeIndex.build(store, 0);
+            PrimeIndex cached = PrimeIndex.build(store, 4);
+            SplittableRandom rnd = new SplittableRandom(3);
+            for (int i = 0; i < 2_000; i++) {
+                // Pocos rangos distintos: mas que la capacidad de la cache para forzar desalojos
+                int a = 100 * rnd.nextInt(8);
+                int b = 50_000 + 100 * rnd.nextInt(8);
+                assertEquals(uncached.primeCount(a, b), cached.primeCount(a, b));
+            }
+        }
+    }
+
+    @Test
+    void outOfRangeQueriesAreRejected() throws IOException {
+        try (PrimeStore store = filled(1_000)) {
+            PrimeIndex index = PrimeIndex.build(store);
+            assertThrows(IndexOutOfBoundsException.class, () -> index.primePi(1_002));
+            assertThrows(IndexOutOfBoundsException.class, () -> index.primeCount(-1, 10));
+            assertThrows(IndexOutOfBoundsException.class, () -> index.primeCount(0, 1_002));
+            assertEquals(0, index.primeCount(10, 10));
+        }
+    }
+
+    private PrimeStore filled(int max) throws IOException {
+        PrimeStore store = PrimeStore.open(dir.resolve("p" + max + ".bin"), max, 1);
+        PrimeEngine.BATCH.scan(0, max + 1, store::markPrime);
+        return store;
+    }
+
+    /**
+     * pi[x] = primos menores que x, para 0 <= x <= max + 1
+     */
+    private static int[] prefixCounts(int max) {
+        int[] pi = new int[max + 2];
+        for (int x = 1; x <= max + 1; x++) {
+            pi[x] = pi[x - 1] + (PrimeEngine.isPrimeTrial(x - 1) ? 1 : 0);
+        }
+        return pi;
+    }
+}
@@ -0,0 +1,131 @@
+package co.eci.primefinder;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimeStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void freshStoreHasNoPrimesAndNoCheckpoints() throws IOException {
+        try (PrimeStore store = PrimeStore.open(dir.resolve("p.bin"), 1000, 3)) {
+            assertEquals(0, store.primeCount(0, 1001));
+            for (int w = 0; w < 3; w++) {
+                assertEquals(-1, store.cursor(w));
+            }
+        }
+    }
+
+    @Test
+    void bitsAndCheckpointsSurviveReopen() throws IOException {
+        Path file = dir.resolve("p.bin");
+        try (PrimeStore store = PrimeStore.open(file, 500, 2)) {
+            for (int n = 0; n <= 500; n++) {
+                if (PrimeEngine.isPrimeTrial(n)) store.markPrime(n);
+            }
+            store.checkpoint(0, 250);
+            store.checkpoint(1, 501);
+        }
+        try (PrimeStore store = PrimeStore.open(file, 500, 2)) {
+            assertEquals(250, store.cursor(0));
+            assertEquals(501, store.cursor(1));
+            for (int n = 0; n <= 500; n++) {
+                assertEquals(PrimeEngine.isPrimeTrial(n), store.isPrime(n), "n=" + n);
+            }
+        }
+        try (PrimeStore store = PrimeStore.openReadOnly(file)) {
+            assertEquals(500, store.maxValue());
+            assertEquals(2, store.workers());
+            assertEquals(95, store.primeCount(0, 501));
+        }
+    }
+
+    @Test
+    void primeCountMatchesBitsAcrossWordBoundaries() throws IOException {
+        try (PrimeStore store = PrimeStore.open(dir.resolve("p.bin"), 1000, 1)) {
+            for (int n = 0; n <= 1000; n++) {
+                if (PrimeEngine.isPrimeTrial(n)) store.markPrime(n);
+            }
+            int[] bounds = { 0, 1, 2, 63, 64, 65, 127, 128, 129, 500, 999, 1000, 1001 };
+            for (int a : bounds) {
+                for (int b : bounds) {
+                    int expected = 0;
+                    for (int n = a; n < b; n++) if (PrimeEngine.isPrimeTrial(n)) expected++;
+                    assertEquals(expected, store.primeCount(a, b), "[" + a + ", " + b + ")");
+                }
+            }
+        }
+    }
+
+    @Test
+    void reopeningWithDifferentShapeIsRejected() throws IOException {
+        Path file = dir.resolve("p.bin");
+        PrimeStore.open(file, 1000, 2).close();
+        long size = Files.size(file);
+        assertThrows(IOException.class, () -> PrimeStore.open(file, 2000, 2));
+        assertThrows(IOException.class, () -> PrimeStore.open(file, 1000, 3));
+        // El intento fallido no debe extender el archivo
+        assertEquals(size, Files.size(file));
+    }
+
+    @Test
+    void foreignFileIsRejectedUntouched() throws IOException {
+        Path small = dir.resolve("notes.txt");
+        Files.writeString(small, "no es un store");
+        assertThrows(IOException.class, () -> PrimeStore.open(small, 1_000_000, 1));
+        assertEquals("no es un store", Files.readString(small));
+
+        Path big = dir.resolve("blob.bin");
+        byte[] data = new byte[PrimeStore.HEADER_BYTES + 64];
+        Arrays.fill(data, (byte) 7);
+        Files.write(big, data);
+        assertThrows(IOException.class, () -> PrimeStore.open(big, 1_000_000, 1));
+        assertThrows(IOException.class, () -> PrimeStore.openReadOnly(big));
+        assertArrayEquals(data, Files.readAllBytes(big));
+    }
+
+    @Test
+    void truncatedStoreIsRejected() throws IOException {
+        Path file = dir.resolve("p.bin");
+        PrimeStore.open(file, 100_000, 1).close();
+        try (var ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ch.truncate(PrimeStore.HEADER_BYTES + 8);
+        }
+        assertThrows(IOException.class, () -> PrimeStore.open(file, 100_000, 1));
+        assertThrows(IOException.class, () -> PrimeStore.openReadOnly(file));
+        assertEquals(PrimeStore.HEADER_BYTES + 8, Files.size(file));
+    }
+
+    @Test
+    void resumedWorkerContinuesFromCheckpoint() throws Exception {
+        Path file = dir.resolve("p.bin");
+        int max = 200_000;
+        try (PrimeStore store = PrimeStore.open(file, max, 1)) {
+            // Simula una corrida interrumpida: solo la primera mitad quedo escrita
+            int half = 100_000;
+            PrimeEngine.BATCH.scan(0, half, store::markPrime);
+            store.checkpoint(0, half);
+        }
+        try (PrimeStore store = PrimeStore.open(file, max, 1)) {
+            PrimeFinderThread worker = new PrimeFinderThread(0, max + 1, new PauseManager(), store, 0);
+            worker.start();
+            worker.join();
+            assertEquals(max + 1, store.cursor(0));
+            assertEquals(17_984, store.primeCount(0, max + 1));
+            assertEquals(17_984, worker.getPrimeCount());
+            assertEquals(9_592, worker.getResumedCount());
+            assertEquals(9_592, store.primeCount(0, 100_000));
+        }
+    }
+}
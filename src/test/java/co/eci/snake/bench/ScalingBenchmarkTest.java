@@ -0,0 +1,25 @@
+package co.eci.snake.bench;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScalingBenchmarkTest {
+
+  @Test
+  void reportListsEveryRunWithNumericFields() {
+    var rows = List.of(
+        new ScalingBenchmark.Row(10, 195.5, 200, 3.25, 12.0, 1.5, 0.25, 40),
+        // no turns or spawns were timed: the percentiles are not numbers
+        new ScalingBenchmark.Row(1000, 19_000, 20_000, 4.0, 30.0, Double.NaN, Double.NaN, 120));
+    String json = ScalingBenchmark.toJson(50, 5, rows);
+
+    assertTrue(json.contains("\"tickMillis\" : 50, \"seconds\" : 5"));
+    assertTrue(json.contains("{ \"snakes\" : 10, \"stepsPerSecond\" : 195.500000, \"idealStepsPerSecond\" : 200.000000"));
+    assertTrue(json.contains("\"turnP99Millis\" : null, \"spawnP99Millis\" : null, \"heapMegabytes\" : 120 }"));
+    assertFalse(json.contains("NaN"));
+    assertTrue(ScalingBenchmark.toJson(50, 5, List.of()).endsWith("\"runs\" : []\n}\n"));
+  }
+}
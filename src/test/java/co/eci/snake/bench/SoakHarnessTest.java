@@ -0,0 +1,85 @@
+package co.eci.snake.bench;
+
+import co.eci.snake.core.Board;
+import co.eci.snake.core.Direction;
+import co.eci.snake.core.Position;
+import co.eci.snake.core.Snake;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SoakHarnessTest {
+
+  @Test
+  void everyIssuedTurnHasAnOutcome() {
+    var board = new Board(30, 30, new SplittableRandom(9));
+    var obstacle = board.obstacles().iterator().next();
+    var blocked = Snake.of(0, Math.floorMod(obstacle.x() - 1, 30), obstacle.y(), Direction.UP);
+    var home = free(board);
+    var other = Snake.of(1, home.x(), home.y(), Direction.RIGHT);
+    var snakes = List.of(blocked, other);
+    var issued = new LongAdder();
+    var start = SoakHarness.TurnLedger.of(board, snakes, issued);
+
+    issue(issued, blocked, Direction.RIGHT);   // applied, then hits the obstacle
+    issue(issued, other, Direction.RIGHT);     // repeat: skipped
+    issue(issued, other, Direction.UP);        // applied
+    for (int i = 0; i < 20; i++) issue(issued, other, Direction.DOWN); // 14 fit behind the first two
+    board.step(blocked);
+    board.step(other);
+
+    var ledger = SoakHarness.TurnLedger.of(board, snakes, issued).minus(start);
+    long applied = board.turnLatency().count();
+    assertEquals(23, ledger.issued());
+    assertEquals(1, applied);
+    assertEquals(1, ledger.blocked());
+    assertEquals(1, ledger.skipped());
+    assertEquals(6, ledger.dropped());
+    assertEquals(14, ledger.pending());
+    assertEquals(0, ledger.unaccounted(applied));
+    // Skipped and dropped are lost; blocked and still-queued turns are not
+    assertEquals(7.0 / 23, ledger.lostFraction(applied), 1e-12);
+  }
+
+  @Test
+  void unaccountedTurnsCountAsLost() {
+    var ledger = new SoakHarness.TurnLedger(100, 0, 0, 0, 0);
+    assertEquals(10, ledger.unaccounted(90));
+    assertEquals(0.10, ledger.lostFraction(90), 1e-12);
+    assertEquals(0.10, ledger.lostFraction(110), 1e-12);
+    assertEquals(0, new SoakHarness.TurnLedger(0, 0, 0, 0, 0).lostFraction(0));
+  }
+
+  @Test
+  void jsonHelpersEscapeAndFormat() {
+    assertEquals("\"a\\\"b\\\\c\\nd\\u0001\"", Json.quote("a\"b\\c\nd\u0001"));
+    assertEquals("1.500000", Json.number(1.5));
+    assertEquals("null", Json.number(Double.POSITIVE_INFINITY));
+    assertEquals("null", Json.number(Double.NaN));
+  }
+
+  private static void issue(LongAdder issued, Snake snake, Direction dir) {
+    issued.increment();
+    snake.enqueueTurn(dir);
+  }
+
+  /** A cell whose upper neighbour holds no item, so an UP turn from it moves. */
+  private static Position free(Board board) {
+    var items = new HashSet<Position>();
+    items.addAll(board.mice());
+    items.addAll(board.obstacles());
+    items.addAll(board.turbo());
+    items.addAll(board.teleports().keySet());
+    for (int y = 1; y < board.height(); y++) {
+      for (int x = 0; x < board.width(); x++) {
+        if (!items.contains(new Position(x, y - 1))) return new Position(x, y);
+      }
+    }
+    throw new AssertionError("board is full");
+  }
+}
@@ -0,0 +1,112 @@
+package co.eci.snake.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.StampedLock;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardTest {
+
+  @Test
+  void turnLatencyIsRecordedOnlyWhenTheSnakeMoves() {
+    var board = new Board(20, 20, new SplittableRandom(3));
+    var obstacle = board.obstacles().iterator().next();
+
+    // Turning RIGHT puts the obstacle straight ahead: the turn is applied but the snake stays put
+    var blocked = Snake.of(0, Math.floorMod(obstacle.x() - 1, 20), obstacle.y(), Direction.UP);
+    assertTrue(blocked.enqueueTurn(Direction.RIGHT));
+    assertEquals(Board.MoveResult.HIT_OBSTACLE, board.step(blocked));
+    assertEquals(0, board.turnLatency().count());
+    assertEquals(1, board.blockedTurns());
+
+    var free = freeStart(board);
+    var moving = Snake.of(1, free.x(), free.y(), Direction.UP);
+    assertTrue(moving.enqueueTurn(Direction.RIGHT));
+    assertNotEquals(Board.MoveResult.HIT_OBSTACLE, board.step(moving));
+    assertEquals(1, board.turnLatency().count());
+    assertEquals(1, board.blockedTurns());
+  }
+
+  @Test
+  void eatingQueuesSpawnsUntilTheSpawnStage() {
+    var board = new Board(20, 20, new SplittableRandom(5));
+    var mouse = board.mice().iterator().next();
+    var snake = Snake.of(0, Math.floorMod(mouse.x() - 1, 20), mouse.y(), Direction.RIGHT);
+    int mice = board.mice().size();
+
+    assertEquals(Board.MoveResult.ATE_MOUSE, board.step(snake));
+    assertEquals(mice - 1, board.mice().size());
+    assertEquals(3, board.pendingSpawns());
+
+    board.spawnPending();
+    assertEquals(0, board.pendingSpawns());
+    assertEquals(mice, board.mice().size());
+    var cells = new HashSet<Position>();
+    cells.addAll(board.mice());
+    cells.addAll(board.obstacles());
+    cells.addAll(board.turbo());
+    cells.addAll(board.teleports().keySet());
+    int items = board.mice().size() + board.obstacles().size() + board.turbo().size() + board.teleports().size();
+    assertEquals(items, cells.size());
+  }
+
+  @Test
+  void obstacleSpawnedWhileWaitingForTheWriteLockIsHonoured() throws Exception {
+    var board = new Board(20, 20, new SplittableRandom(5));
+    var lock = (StampedLock) field(board, "lock");
+    @SuppressWarnings("unchecked") var mice = (Set<Position>) field(board, "mice");
+    @SuppressWarnings("unchecked") var obstacles = (Set<Position>) field(board, "obstacles");
+    var mouse = board.mice().iterator().next();
+    var start = new Position(Math.floorMod(mouse.x() - 1, 20), mouse.y());
+    var snake = Snake.of(0, start.x(), start.y(), Direction.RIGHT);
+
+    // Another reader keeps the snake from converting its read lock, so it must release and wait
+    long reader = lock.readLock();
+    CompletableFuture<Board.MoveResult> result = new CompletableFuture<>();
+    try {
+      var stepper = new Thread(() -> result.complete(board.step(snake)));
+      stepper.start();
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+      while (!(stepper.getState() == Thread.State.WAITING && lock.getReadLockCount() == 1)) {
+        assertTrue(System.nanoTime() < deadline, "step never queued for the write lock");
+        Thread.sleep(1);
+      }
+      // Meanwhile the mouse is eaten by someone else and an obstacle spawns on the freed cell
+      mice.remove(mouse);
+      obstacles.add(mouse);
+    } finally {
+      lock.unlockRead(reader);
+    }
+
+    assertEquals(Board.MoveResult.HIT_OBSTACLE, result.get(5, TimeUnit.SECONDS));
+    assertEquals(start, snake.head());
+    assertEquals(0, board.pendingSpawns());
+  }
+
+  private static Object field(Board board, String name) throws ReflectiveOperationException {
+    var f = Board.class.getDeclaredField(name);
+    f.setAccessible(true);
+    return f.get(board);
+  }
+
+  /** A cell whose right-hand neighbour holds no item, so a RIGHT turn from it is a plain move. */
+  private static Position freeStart(Board board) {
+    var items = new HashSet<Position>();
+    items.addAll(board.mice());
+    items.addAll(board.obstacles());
+    items.addAll(board.turbo());
+    items.addAll(board.teleports().keySet());
+    for (int y = 0; y < board.height(); y++) {
+      for (int x = 0; x < board.width(); x++) {
+        if (!items.contains(new Position((x + 1) % board.width(), y))) return new Position(x, y);
+      }
+    }
+    throw new AssertionError("board is full");
+  }
+}
@@ -0,0 +1,142 @@
+package co.eci.snake.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemSpawnerTest {
+  private static final int W = 9, H = 7;
+
+  private final Set<Position> mice = new HashSet<>();
+  private final Set<Position> obstacles = new HashSet<>();
+  private final Set<Position> turbo = new HashSet<>();
+  private final Map<Position, Position> teleports = new HashMap<>();
+  private final SplittableRandom rnd = new SplittableRandom(11);
+
+  private ItemSpawner spawner(SpawnPolicy policy) {
+    mice.add(new Position(0, 0));
+    obstacles.add(new Position(1, 0));
+    turbo.add(new Position(2, 0));
+    teleports.put(new Position(3, 0), new Position(4, 0));
+    teleports.put(new Position(4, 0), new Position(3, 0));
+    return new ItemSpawner(W, H, policy, mice, obstacles, turbo, teleports, rnd);
+  }
+
+  private static SpawnPolicy always(int maxMice, int maxObstacles, int maxTurbo, double maxDensity) {
+    return new SpawnPolicy(1, 1, 1, maxMice, maxObstacles, maxTurbo, maxDensity, 64);
+  }
+
+  private int items() {
+    return mice.size() + obstacles.size() + turbo.size() + teleports.size();
+  }
+
+  /** Every item on its own in-bounds cell: no two sets share a cell. */
+  private void assertNoOverlap() {
+    var seen = new HashSet<Position>();
+    for (var set : List.of(mice, obstacles, turbo, teleports.keySet())) {
+      for (var p : set) {
+        assertTrue(p.x() >= 0 && p.x() < W && p.y() >= 0 && p.y() < H, "out of bounds: " + p);
+        assertTrue(seen.add(p), "two items on " + p);
+      }
+    }
+  }
+
+  @Test
+  void fillsEveryFreeCellOnceThenDrops() {
+    var s = spawner(always(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, 1.0));
+    int cells = W * H;
+    int before = items();
+    // Each mouse eaten requests three items, so this asks for more than the board can hold
+    for (int i = 0; i < cells; i++) s.mouseEaten();
+    assertEquals(3 * cells, s.pending());
+    while (s.pending() > 0) s.drain(rnd);
+
+    assertNoOverlap();
+    assertEquals(cells, items());
+    assertEquals(cells - before, s.spawned());
+    assertEquals(3 * cells - (cells - before), s.dropped());
+  }
+
+  @Test
+  void releasedCellsAreReusedWithoutDuplicates() {
+    var s = spawner(always(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, 1.0));
+    for (int i = 0; i < W * H; i++) s.mouseEaten();
+    while (s.pending() > 0) s.drain(rnd);
+    assertEquals(W * H, items());
+
+    // Free two cells, releasing one of them twice and an occupied one once
+    var eaten = mice.iterator().next();
+    var cleared = turbo.iterator().next();
+    mice.remove(eaten);
+    turbo.remove(cleared);
+    s.release(eaten, rnd);
+    s.release(eaten, rnd);
+    s.release(cleared, rnd);
+    s.release(obstacles.iterator().next(), rnd);
+
+    long spawnedBefore = s.spawned();
+    s.mouseEaten();
+    s.mouseEaten();
+    while (s.pending() > 0) s.drain(rnd);
+    assertEquals(2, s.spawned() - spawnedBefore);
+    assertEquals(W * H, items());
+    assertNoOverlap();
+  }
+
+  @Test
+  void respectsPerItemCaps() {
+    var s = spawner(always(3, 2, 1, 1.0));
+    for (int i = 0; i < 20; i++) s.mouseEaten();
+    while (s.pending() > 0) s.drain(rnd);
+
+    assertEquals(3, mice.size());
+    assertEquals(2, obstacles.size());
+    assertEquals(1, turbo.size());
+    assertEquals(3, s.spawned());
+    assertEquals(60 - 3, s.dropped());
+    assertNoOverlap();
+  }
+
+  @Test
+  void respectsMaxDensity() {
+    double density = 0.25;
+    var s = spawner(always(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, density));
+    for (int i = 0; i < W * H; i++) s.mouseEaten();
+    while (s.pending() > 0) s.drain(rnd);
+
+    assertEquals((int) (density * W * H), items());
+    assertNoOverlap();
+  }
+
+  @Test
+  void drainPlacesAtMostOneBatch() {
+    var policy = new SpawnPolicy(1, 1, 1, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, 1.0, 4);
+    var s = spawner(policy);
+    for (int i = 0; i < 3; i++) s.mouseEaten();
+    assertEquals(4, s.drain(rnd));
+    assertEquals(5, s.pending());
+    assertEquals(4, s.drain(rnd));
+    assertEquals(1, s.drain(rnd));
+    assertEquals(0, s.pending());
+    assertEquals(9, s.latency().count());
+  }
+
+  @Test
+  void zeroChanceRequestsAreConsumedButNeverPlaced() {
+    var s = spawner(new SpawnPolicy(0, 0, 0, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, 1.0, 64));
+    int before = items();
+    for (int i = 0; i < 10; i++) s.mouseEaten();
+    assertEquals(0, s.drain(rnd));
+    assertEquals(0, s.pending());
+    assertEquals(before, items());
+    assertEquals(0, s.spawned());
+    assertEquals(0, s.dropped());
+  }
+}
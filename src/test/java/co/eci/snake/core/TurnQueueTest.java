@@ -0,0 +1,96 @@
+package co.eci.snake.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TurnQueueTest {
+
+  @Test
+  void pollsInArrivalOrder() {
+    var q = new TurnQueue(8);
+    var sent = List.of(Direction.UP, Direction.LEFT, Direction.DOWN, Direction.LEFT, Direction.RIGHT);
+    long before = System.nanoTime();
+    for (var d : sent) assertTrue(q.offer(d));
+    assertEquals(sent.size(), q.size());
+
+    List<Direction> got = new ArrayList<>();
+    long last = before;
+    TurnQueue.Command c;
+    while ((c = q.poll()) != null) {
+      got.add(c.direction());
+      assertTrue(c.enqueuedNanos() >= last);
+      last = c.enqueuedNanos();
+    }
+    assertEquals(sent, got);
+    assertEquals(0, q.size());
+  }
+
+  @Test
+  void dropsAndCountsOffersBeyondCapacity() {
+    var q = new TurnQueue(3);
+    assertTrue(q.offer(Direction.UP));
+    assertTrue(q.offer(Direction.LEFT));
+    assertTrue(q.offer(Direction.DOWN));
+    assertFalse(q.offer(Direction.RIGHT));
+    assertFalse(q.offer(Direction.RIGHT));
+    assertEquals(3, q.size());
+    assertEquals(2, q.dropped());
+
+    assertEquals(Direction.UP, q.poll().direction());
+    assertTrue(q.offer(Direction.RIGHT));
+    assertEquals(Direction.LEFT, q.poll().direction());
+    assertEquals(Direction.DOWN, q.poll().direction());
+    assertEquals(Direction.RIGHT, q.poll().direction());
+    assertNull(q.poll());
+  }
+
+  @Test
+  void concurrentOffersAreEitherPolledOrCountedAsDropped() throws InterruptedException {
+    int capacity = 16, producers = 4, perProducer = 20_000;
+    var q = new TurnQueue(capacity);
+    var start = new CountDownLatch(1);
+    List<Thread> threads = new ArrayList<>();
+    for (int p = 0; p < producers; p++) {
+      var t = new Thread(() -> {
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          return;
+        }
+        for (int i = 0; i < perProducer; i++) q.offer(Direction.values()[i & 3]);
+      });
+      t.start();
+      threads.add(t);
+    }
+    start.countDown();
+    long polled = 0;
+    while (threads.stream().anyMatch(Thread::isAlive) || q.size() > 0) {
+      if (q.poll() != null) polled++;
+    }
+    for (var t : threads) t.join();
+    assertEquals((long) producers * perProducer, polled + q.dropped());
+    assertEquals(0, q.size());
+  }
+
+  @Test
+  void snakeAppliesOneEffectiveTurnPerStep() {
+    var snake = Snake.of(0, 5, 5, Direction.RIGHT);
+    snake.enqueueTurn(Direction.RIGHT); // repeat: skipped
+    snake.enqueueTurn(Direction.LEFT);  // reversal: skipped
+    snake.enqueueTurn(Direction.UP);
+    snake.enqueueTurn(Direction.LEFT);
+
+    assertTrue(snake.applyQueuedTurn() >= 0);
+    assertEquals(Direction.UP, snake.direction());
+    assertTrue(snake.applyQueuedTurn() >= 0);
+    assertEquals(Direction.LEFT, snake.direction());
+    assertEquals(-1, snake.applyQueuedTurn());
+    assertEquals(0, snake.pendingTurns());
+    assertEquals(2, snake.skippedTurns());
+  }
+}
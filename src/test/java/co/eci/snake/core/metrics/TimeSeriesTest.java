@@ -0,0 +1,81 @@
+package co.eci.snake.core.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeSeriesTest {
+
+  @Test
+  void emptySeriesReportsZero() {
+    var ts = new TimeSeries(4);
+    assertEquals(0, ts.size());
+    assertEquals(0, ts.count());
+    assertEquals(0, ts.last());
+    assertEquals(0, ts.min());
+    assertEquals(0, ts.max());
+    assertEquals(0, ts.mean());
+    assertEquals(0, ts.allTimeMax());
+    assertThrows(IndexOutOfBoundsException.class, () -> ts.get(0));
+  }
+
+  @Test
+  void rejectsNonPositiveCapacity() {
+    assertThrows(IllegalArgumentException.class, () -> new TimeSeries(0));
+  }
+
+  @Test
+  void keepsOnlyTheLastCapacitySamplesInOrder() {
+    var ts = new TimeSeries(4);
+    for (int v = 1; v <= 10; v++) ts.add(v);
+    assertEquals(4, ts.size());
+    assertEquals(10, ts.count());
+    for (int i = 0; i < 4; i++) assertEquals(7 + i, ts.get(i));
+    assertEquals(10, ts.last());
+    assertThrows(IndexOutOfBoundsException.class, () -> ts.get(4));
+  }
+
+  @Test
+  void windowAggregatesMatchBruteForceAcrossManyWraps() {
+    var rnd = new SplittableRandom(7);
+    for (int cap : new int[] { 1, 2, 5, 64 }) {
+      var ts = new TimeSeries(cap);
+      double[] all = new double[cap * 50];
+      double allTimeMax = Double.NEGATIVE_INFINITY;
+      for (int n = 0; n < all.length; n++) {
+        // Small integer range so equal values, which the deques must keep or evict correctly, are common
+        all[n] = rnd.nextInt(-5, 6);
+        ts.add(all[n]);
+        allTimeMax = Math.max(allTimeMax, all[n]);
+
+        int from = Math.max(0, n + 1 - cap);
+        double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY, sum = 0;
+        for (int k = from; k <= n; k++) {
+          min = Math.min(min, all[k]);
+          max = Math.max(max, all[k]);
+          sum += all[k];
+        }
+        String at = "capacity " + cap + " after sample " + n;
+        assertEquals(min, ts.min(), at);
+        assertEquals(max, ts.max(), at);
+        assertEquals(sum / (n + 1 - from), ts.mean(), 1e-9, at);
+        assertEquals(allTimeMax, ts.allTimeMax(), at);
+      }
+    }
+  }
+
+  @Test
+  void monotonicRunsEvictTheExpiredExtreme() {
+    var ts = new TimeSeries(3);
+    for (int v = 10; v >= 1; v--) ts.add(v);
+    // Window is 3, 2, 1: the earlier larger values have all expired
+    assertEquals(3, ts.max());
+    assertEquals(1, ts.min());
+    assertEquals(10, ts.allTimeMax());
+    for (int v = 1; v <= 10; v++) ts.add(v);
+    assertEquals(10, ts.max());
+    assertEquals(8, ts.min());
+  }
+}
@@ -0,0 +1,167 @@
+package co.eci.snake.jfr;
+
+import co.eci.snake.core.Board;
+import co.eci.snake.core.Direction;
+import co.eci.snake.core.GameController;
+import co.eci.snake.core.Position;
+import co.eci.snake.core.Snake;
+import co.eci.snake.core.SpawnPolicy;
+import jdk.jfr.Configuration;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventEmissionTest {
+  private static final String STATE = "co.eci.snake.GameState";
+  private static final String RESPAWN = "co.eci.snake.ItemRespawn";
+  private static final String STEP = "co.eci.snake.Step";
+  private static final String FRAME = "co.eci.snake.FrameRender";
+
+  @Test
+  void stateChangesAreRecordedOncePerChange() throws Exception {
+    var events = record(Configuration.getConfiguration("default").getSettings(), () -> {
+      var controller = new GameController(List.of());
+      controller.start();
+      controller.pause();
+      controller.pause(); // no change, no event
+      controller.resume();
+      controller.stop();
+    });
+
+    var states = named(events, STATE);
+    assertEquals(4, states.size());
+    assertTransition(states.get(0), "STOPPED", "RUNNING");
+    assertTransition(states.get(1), "RUNNING", "PAUSED");
+    assertTransition(states.get(2), "PAUSED", "RUNNING");
+    assertTransition(states.get(3), "RUNNING", "STOPPED");
+    for (var e : states) assertTrue(e.getDuration("elapsed").toMillis() >= 0);
+  }
+
+  @Test
+  void respawnsAreRecordedWithTheirPlacement() throws Exception {
+    var board = new Board(20, 20, new SplittableRandom(5),
+        new SpawnPolicy(1, 1, 1, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, 1.0, 64));
+    var mouse = board.mice().iterator().next();
+    var snake = Snake.of(0, Math.floorMod(mouse.x() - 1, 20), mouse.y(), Direction.RIGHT);
+    var before = board.mice();
+
+    var events = record(Configuration.getConfiguration("default").getSettings(), () -> {
+      assertEquals(Board.MoveResult.ATE_MOUSE, board.step(snake));
+      assertEquals(3, board.spawnPending());
+    });
+
+    var respawns = named(events, RESPAWN);
+    assertEquals(3, respawns.size());
+    var items = new ArrayList<String>();
+    for (var e : respawns) {
+      items.add(e.getString("item"));
+      assertTrue(e.getDuration("queueDelay").toNanos() >= 0);
+      var p = new Position(e.getInt("x"), e.getInt("y"));
+      switch (e.getString("item")) {
+        case "MOUSE" -> assertTrue(board.mice().contains(p) && !before.contains(p));
+        case "OBSTACLE" -> assertTrue(board.obstacles().contains(p));
+        case "TURBO" -> assertTrue(board.turbo().contains(p));
+        default -> fail("unexpected item " + e.getString("item"));
+      }
+    }
+    Collections.sort(items);
+    assertEquals(List.of("MOUSE", "OBSTACLE", "TURBO"), items);
+  }
+
+  @Test
+  void stepAndFrameAreOffByDefault() throws Exception {
+    var events = record(Configuration.getConfiguration("default").getSettings(), EventEmissionTest::stepAndRender);
+    assertTrue(named(events, STEP).isEmpty());
+    assertTrue(named(events, FRAME).isEmpty());
+  }
+
+  @Test
+  void snakeProfileEnablesStepAndFrame() throws Exception {
+    Configuration jfc;
+    try (var in = EventEmissionTest.class.getResourceAsStream("/jfr/snake.jfc")) {
+      assertNotNull(in, "jfr/snake.jfc is not on the classpath");
+      jfc = Configuration.create(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+    assertEquals("true", jfc.getSettings().get(STEP + "#enabled"));
+    assertEquals("true", jfc.getSettings().get(FRAME + "#enabled"));
+
+    // As shipped: only frames slower than the profile's threshold are kept
+    var events = record(jfc.getSettings(), EventEmissionTest::stepAndRender);
+    assertEquals(1, named(events, FRAME).size());
+
+    // Same profile with thresholds at zero: every step and frame
+    var settings = new HashMap<>(jfc.getSettings());
+    settings.put(STEP + "#threshold", "0 ms");
+    settings.put(FRAME + "#threshold", "0 ms");
+    events = record(settings, EventEmissionTest::stepAndRender);
+    var steps = named(events, STEP);
+    assertEquals(3, steps.size());
+    for (var e : steps) {
+      assertEquals(7, e.getInt("snakeId"));
+      assertNotNull(Board.MoveResult.valueOf(e.getString("result")));
+    }
+    assertEquals(2, named(events, FRAME).size());
+  }
+
+  /** Three steps of snake 7, one fast frame and one frame slower than {@code snake.jfc}'s 8 ms. */
+  private static void stepAndRender() {
+    var board = new Board(20, 20, new SplittableRandom(3));
+    var snake = Snake.of(7, 0, 0, Direction.RIGHT);
+    for (int i = 0; i < 3; i++) board.step(snake);
+    render(0);
+    render(20);
+  }
+
+  private static void render(long millis) {
+    var event = new FrameRenderEvent();
+    event.begin();
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    event.snakes = 1;
+    event.commit();
+  }
+
+  private interface Work {
+    void run() throws Exception;
+  }
+
+  /** Runs {@code work} while a stream with {@code settings} records, then returns this project's events in order. */
+  private static List<RecordedEvent> record(Map<String, String> settings, Work work) throws Exception {
+    var events = Collections.synchronizedList(new ArrayList<RecordedEvent>());
+    try (var rs = new RecordingStream()) {
+      rs.setSettings(settings);
+      rs.onEvent(e -> {
+        if (e.getEventType().getName().startsWith("co.eci.snake.")) events.add(e);
+      });
+      rs.startAsync();
+      work.run();
+      rs.stop();
+    }
+    var sorted = new ArrayList<>(events);
+    sorted.sort((a, b) -> a.getStartTime().compareTo(b.getStartTime()));
+    return sorted;
+  }
+
+  private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+    return events.stream().filter(e -> e.getEventType().getName().equals(name)).toList();
+  }
+
+  private static void assertTransition(RecordedEvent e, String from, String to) {
+    assertEquals(from, e.getString("from"));
+    assertEquals(to, e.getString("to"));
+  }
+}
@@ -0,0 +1,109 @@
+package co.eci.snake.net;
+
+import co.eci.snake.core.Board;
+import co.eci.snake.core.Direction;
+import co.eci.snake.core.Position;
+import co.eci.snake.core.Snake;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeltaEncoderTest {
+  private static final int W = 24;
+  private static final int H = 18;
+
+  @Test
+  void snapshotThenDeltasReproduceTheWorld() {
+    var rnd = new SplittableRandom(11);
+    var board = new Board(W, H, new SplittableRandom(5));
+    var snakes = snakes();
+    var encoder = new DeltaEncoder(board, snakes);
+    var world = new RemoteWorld(encoder.width(), encoder.height());
+
+    encoder.capture();
+    world.applySnapshot(body(encoder.snapshot(), Protocol.SNAPSHOT));
+    assertMatches(board, snakes, world);
+
+    for (int tick = 0; tick < 300; tick++) {
+      // Some snakes move several times per tick, some not at all
+      for (var s : snakes) {
+        int steps = rnd.nextInt(3);
+        for (int k = 0; k < steps; k++) {
+          if (rnd.nextInt(4) == 0) s.turn(Direction.values()[rnd.nextInt(4)]);
+          board.step(s);
+        }
+      }
+      board.spawnPending();
+      assertTrue(world.applyDelta(body(encoder.capture(), Protocol.DELTA)), "tick " + tick);
+      assertEquals(encoder.tick(), world.tick());
+      assertMatches(board, snakes, world);
+    }
+  }
+
+  @Test
+  void deltaAfterMissedTickDesyncsUntilSnapshot() {
+    var board = new Board(W, H, new SplittableRandom(5));
+    var snakes = snakes();
+    var encoder = new DeltaEncoder(board, snakes);
+    var world = new RemoteWorld(W, H);
+
+    encoder.capture();
+    world.applySnapshot(body(encoder.snapshot(), Protocol.SNAPSHOT));
+    snakes.forEach(board::step);
+    encoder.capture(); // lost
+    snakes.forEach(board::step);
+    assertFalse(world.applyDelta(body(encoder.capture(), Protocol.DELTA)));
+    assertFalse(world.synced());
+
+    world.applySnapshot(body(encoder.snapshot(), Protocol.SNAPSHOT));
+    snakes.forEach(board::step);
+    assertTrue(world.applyDelta(body(encoder.capture(), Protocol.DELTA)));
+    assertMatches(board, snakes, world);
+  }
+
+  @Test
+  void quietTickEncodesAsEmptyDelta() {
+    var board = new Board(W, H, new SplittableRandom(5));
+    var encoder = new DeltaEncoder(board, snakes());
+    encoder.capture();
+    ByteBuffer delta = body(encoder.capture(), Protocol.DELTA);
+    assertEquals(2, Protocol.readVarLong(delta));
+    assertEquals(0, Protocol.readVarInt(delta));
+    assertEquals(0, Protocol.readVarInt(delta));
+    assertFalse(delta.hasRemaining());
+  }
+
+  private static List<Snake> snakes() {
+    return List.of(Snake.of(0, 1, 1, Direction.RIGHT), Snake.of(1, 5, 9, Direction.UP),
+        Snake.of(2, 20, 3, Direction.LEFT));
+  }
+
+  /** Strips the length prefix and checks the type byte. */
+  private static ByteBuffer body(ByteBuffer msg, byte type) {
+    var in = msg.duplicate();
+    assertEquals(in.remaining() - 4, in.getInt());
+    assertEquals(type, in.get());
+    return in;
+  }
+
+  private static void assertMatches(Board board, List<Snake> snakes, RemoteWorld world) {
+    byte[] cells = new byte[W * H];
+    board.itemGrid(cells);
+    for (int y = 0; y < H; y++) {
+      for (int x = 0; x < W; x++) {
+        assertEquals(cells[y * W + x], world.item(x, y), "cell " + x + "," + y);
+      }
+    }
+    assertEquals(snakes.size(), world.snakeCount());
+    for (int i = 0; i < snakes.size(); i++) {
+      List<Integer> expected = new ArrayList<>();
+      for (Position p : snakes.get(i).snapshot()) expected.add(p.y() * W + p.x());
+      assertEquals(expected, world.body(i), "snake " + i);
+    }
+  }
+}
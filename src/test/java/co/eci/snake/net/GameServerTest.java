@@ -0,0 +1,156 @@
+package co.eci.snake.net;
+
+import co.eci.snake.core.Board;
+import co.eci.snake.core.Direction;
+import co.eci.snake.core.Snake;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameServerTest {
+  private static final int TIMEOUT_MILLIS = 5_000;
+
+  private GameServer server;
+  private Thread serverThread;
+
+  @BeforeEach
+  void start() throws IOException {
+    var board = new Board(20, 20, new SplittableRandom(1));
+    var snakes = List.of(Snake.of(0, 2, 2, Direction.RIGHT), Snake.of(1, 10, 10, Direction.DOWN));
+    server = new GameServer(board, snakes, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 10, 64 * 1024);
+    serverThread = new Thread(server, "game-server");
+    serverThread.start();
+  }
+
+  @AfterEach
+  void stop() throws InterruptedException {
+    server.stop();
+    serverThread.join(TIMEOUT_MILLIS);
+  }
+
+  @Test
+  void truncatedJoinOnlyClosesThatClient() throws IOException {
+    try (var watcher = connect(); var bad = connect()) {
+      send(watcher, Protocol.join(Protocol.ROLE_SPECTATOR));
+      assertEquals(Protocol.WELCOME, readFrame(watcher)[0]);
+      readFrame(watcher);
+
+      // length 1, type JOIN, no role byte
+      bad.getOutputStream().write(new byte[] { 0, 0, 0, 1, Protocol.JOIN });
+      assertClosedByServer(bad);
+
+      assertKeepsReceivingTicks(watcher);
+      assertTrue(serverThread.isAlive());
+    }
+  }
+
+  @Test
+  void truncatedTurnOnlyClosesThatClient() throws IOException {
+    try (var watcher = connect(); var player = connect()) {
+      send(watcher, Protocol.join(Protocol.ROLE_SPECTATOR));
+      send(player, Protocol.join(Protocol.ROLE_PLAYER));
+      assertEquals(Protocol.WELCOME, readFrame(player)[0]);
+
+      // length 1, type TURN, no direction byte; a valid frame behind it must not be read as its payload
+      var out = player.getOutputStream();
+      out.write(new byte[] { 0, 0, 0, 1, Protocol.TURN });
+      send(player, Protocol.turn(Direction.UP.ordinal()));
+      assertClosedByServer(player);
+
+      assertKeepsReceivingTicks(watcher);
+      assertTrue(serverThread.isAlive());
+    }
+  }
+
+  @Test
+  void oversizedFrameOnlyClosesThatClient() throws IOException {
+    try (var watcher = connect(); var bad = connect()) {
+      send(watcher, Protocol.join(Protocol.ROLE_SPECTATOR));
+      // JOIN with a trailing byte
+      bad.getOutputStream().write(new byte[] { 0, 0, 0, 3, Protocol.JOIN, Protocol.ROLE_PLAYER, 7 });
+      assertClosedByServer(bad);
+      assertKeepsReceivingTicks(watcher);
+    }
+  }
+
+  private Socket connect() throws IOException {
+    var s = new Socket(InetAddress.getLoopbackAddress(), server.port());
+    s.setSoTimeout(TIMEOUT_MILLIS);
+    return s;
+  }
+
+  @Test
+  void closeBeforeRunReleasesThePort() throws IOException {
+    var board = new Board(20, 20, new SplittableRandom(2));
+    var address = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+    var unstarted = new GameServer(board, List.of(Snake.of(0, 1, 1, Direction.UP)), address, 10, 64 * 1024);
+    int port = unstarted.port();
+    unstarted.close();
+
+    // The port is free again, and a late run() returns instead of serving on closed channels
+    try (var rebound = ServerSocketChannel.open()) {
+      rebound.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    }
+    assertTimeoutPreemptively(Duration.ofMillis(TIMEOUT_MILLIS), unstarted::run);
+  }
+
+  private static void send(Socket s, ByteBuffer msg) throws IOException {
+    byte[] bytes = new byte[msg.remaining()];
+    msg.duplicate().get(bytes);
+    OutputStream out = s.getOutputStream();
+    out.write(bytes);
+    out.flush();
+  }
+
+  /** Returns {@code [type, payload...]} of the next frame. */
+  private static byte[] readFrame(Socket s) throws IOException {
+    var in = new DataInputStream(s.getInputStream());
+    int len = in.readInt();
+    assertTrue(len > 0 && len <= Protocol.MAX_FRAME, "bad length " + len);
+    byte[] frame = new byte[len];
+    in.readFully(frame);
+    return frame;
+  }
+
+  private static void assertClosedByServer(Socket s) throws IOException {
+    var in = s.getInputStream();
+    byte[] buf = new byte[4096];
+    long deadline = System.nanoTime() + TIMEOUT_MILLIS * 1_000_000L;
+    try {
+      // Anything the server queued before closing (e.g. WELCOME) is drained first
+      while (in.read(buf) >= 0) {
+        if (System.nanoTime() - deadline > 0) fail("server kept the connection open");
+      }
+    } catch (SocketException e) {
+      // reset by the server also counts as closed
+    }
+  }
+
+  private static void assertKeepsReceivingTicks(Socket watcher) throws IOException {
+    long last = -1;
+    int deltas = 0;
+    while (deltas < 5) {
+      byte[] frame = readFrame(watcher);
+      if (frame[0] == Protocol.WELCOME) continue;
+      long tick = Protocol.readVarLong(ByteBuffer.wrap(frame, 1, frame.length - 1));
+      assertTrue(tick > last, "tick went backwards");
+      last = tick;
+      if (frame[0] == Protocol.DELTA) deltas++;
+    }
+  }
+}
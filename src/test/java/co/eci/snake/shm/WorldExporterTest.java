@@ -0,0 +1,155 @@
+package co.eci.snake.shm;
+
+import co.eci.snake.core.Board;
+import co.eci.snake.core.Direction;
+import co.eci.snake.core.Position;
+import co.eci.snake.core.Snake;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorldExporterTest {
+  private static final int W = 24, H = 18;
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void frameRoundTripsThroughTheFile() throws IOException {
+    var board = new Board(W, H, new SplittableRandom(1));
+    var snakes = List.of(Snake.of(3, 2, 2, Direction.RIGHT), Snake.of(8, 10, 9, Direction.UP));
+    var file = dir.resolve("world.shm");
+    try (var exporter = new WorldExporter(file, board, snakes); var reader = WorldReader.open(file)) {
+      assertEquals(W, reader.width());
+      assertEquals(H, reader.height());
+      assertEquals(2, reader.maxSnakes());
+      assertEquals(0, reader.latestTick());
+      assertNull(reader.read());
+
+      for (int tick = 1; tick <= 3; tick++) {
+        for (var s : snakes) board.step(s);
+        exporter.publish();
+        var frame = reader.read();
+        assertNotNull(frame);
+        assertEquals(tick, frame.tick());
+        assertEquals(tick, reader.latestTick());
+        assertMatches(board, snakes, frame);
+      }
+    }
+  }
+
+  @Test
+  void rejectsFilesThatAreNotWorlds() throws IOException {
+    var file = dir.resolve("other.bin");
+    Files.write(file, new byte[Layout.HEADER_BYTES + 16]);
+    assertThrows(IOException.class, () -> WorldReader.open(file));
+  }
+
+  /**
+   * The writer moves one snake along a known path and publishes every step while a reader polls.
+   * Any frame mixing two ticks shows up as a head or body that does not match the frame's tick.
+   */
+  @Test
+  void concurrentReaderNeverSeesATornFrame() throws Exception {
+    var board = new Board(W, H, new SplittableRandom(2));
+    var snake = Snake.of(0, 0, 0, Direction.RIGHT);
+    var file = dir.resolve("world.shm");
+    byte[] items = new byte[W * H];
+    board.itemGrid(items);
+
+    var done = new AtomicBoolean();
+    var failure = new AtomicReference<Throwable>();
+    try (var exporter = new WorldExporter(file, board, List.of(snake)); var reader = WorldReader.open(file)) {
+      var writer = new Thread(() -> {
+        for (long t = 1; t <= 200_000 && !done.get(); t++) {
+          snake.advance(path(t), false);
+          exporter.publish();
+        }
+        done.set(true);
+      });
+      writer.start();
+
+      var frame = reader.newFrame();
+      long frames = 0, lastTick = 0;
+      try {
+        while (!done.get()) {
+          if (!reader.read(frame)) continue;
+          assertTrue(frame.tick() >= lastTick, "ticks went backwards");
+          lastTick = frame.tick();
+          assertConsistent(frame, items);
+          frames++;
+        }
+      } catch (Throwable e) {
+        failure.set(e);
+        done.set(true);
+      }
+      writer.join();
+      if (failure.get() != null) throw new AssertionError("torn frame after " + frames + " reads", failure.get());
+      assertTrue(frames > 0);
+      assertTrue(reader.read(frame));
+      assertConsistent(frame, items);
+    }
+  }
+
+  /** Head after {@code t} advances: row by row, so the last few cells of the body are distinct. */
+  private static Position path(long t) {
+    return new Position((int) (t % W), (int) ((t / W) % H));
+  }
+
+  private static void assertConsistent(WorldFrame f, byte[] items) {
+    long t = f.tick();
+    assertEquals(1, f.snakeCount());
+    assertEquals(t, f.moves(0), "moves of tick " + t);
+    var head = path(t);
+    assertEquals(head.x(), f.headX(0), "head x of tick " + t);
+    assertEquals(head.y(), f.headY(0), "head y of tick " + t);
+    int length = f.length(0);
+    int heads = 0, bodies = 0;
+    for (int y = 0; y < H; y++) {
+      for (int x = 0; x < W; x++) {
+        assertEquals(items[y * W + x], f.item(x, y), "item at " + x + "," + y);
+        if ((f.cell(x, y) & WorldFrame.HEAD) != 0) heads++;
+        if (f.occupied(x, y)) bodies++;
+      }
+    }
+    assertEquals(1, heads, "heads in tick " + t);
+    assertEquals(length, bodies, "body cells in tick " + t);
+    assertTrue((f.cell(head.x(), head.y()) & WorldFrame.HEAD) != 0);
+    for (int k = 0; k < length; k++) {
+      var p = t - k >= 1 ? path(t - k) : new Position(0, 0);
+      assertTrue(f.occupied(p.x(), p.y()), "body cell " + k + " of tick " + t);
+    }
+  }
+
+  private static void assertMatches(Board board, List<Snake> snakes, WorldFrame f) {
+    byte[] items = new byte[W * H];
+    board.itemGrid(items);
+    assertEquals(snakes.size(), f.snakeCount());
+    for (int i = 0; i < snakes.size(); i++) {
+      var s = snakes.get(i);
+      var body = s.frame().body();
+      assertEquals(s.id(), f.snakeId(i));
+      assertEquals(s.direction().ordinal(), f.direction(i));
+      assertEquals(s.head().x(), f.headX(i));
+      assertEquals(s.head().y(), f.headY(i));
+      assertEquals(body.size(), f.length(i));
+      assertEquals(s.miceEaten(), f.miceEaten(i));
+      assertEquals(s.moves(), f.moves(i));
+      assertEquals(s.droppedTurns(), f.droppedTurns(i));
+      for (var p : body) assertTrue(f.occupied(p.x(), p.y()), "body at " + p);
+      assertTrue((f.cell(s.head().x(), s.head().y()) & WorldFrame.HEAD) != 0);
+    }
+    for (int y = 0; y < H; y++) {
+      for (int x = 0; x < W; x++) assertEquals(items[y * W + x], f.item(x, y), "item at " + x + "," + y);
+    }
+  }
+}
@@ -0,0 +1,72 @@
+package co.eci.snake.tournament;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchTest {
+  private static final MatchConfig CONFIG =
+      new MatchConfig(20, 16, 300, List.of(Strategies.RANDOM, Strategies.GREEDY, Strategies.CAUTIOUS));
+
+  @Test
+  void sameSeedReplaysTheSameMatch() {
+    for (long seed = 1; seed <= 20; seed++) {
+      assertSameOutcome(new Match(CONFIG, seed).play(), new Match(CONFIG, seed).play());
+    }
+  }
+
+  @Test
+  void differentSeedsPlayDifferentMatches() {
+    var outcomes = new HashSet<List<Object>>();
+    for (long seed = 1; seed <= 20; seed++) outcomes.add(outcome(new Match(CONFIG, seed).play()));
+    assertTrue(outcomes.size() > 1, "every seed produced the same match");
+  }
+
+  @Test
+  void resultIsConsistent() {
+    for (long seed = 1; seed <= 20; seed++) {
+      var r = new Match(CONFIG, seed).play();
+      assertEquals(seed, r.seed());
+      assertEquals(3, r.lengths().length);
+      assertTrue(r.ticks() >= 1 && r.ticks() <= CONFIG.maxTicks());
+      assertTrue(r.winner() >= -1 && r.winner() < 3);
+      if (r.firstDeadId() < 0) {
+        assertEquals(-1, r.firstDeathTick());
+      } else {
+        assertTrue(r.firstDeathTick() >= 1 && r.firstDeathTick() <= r.ticks());
+        assertNotEquals(r.firstDeadId(), r.winner());
+      }
+      for (int len : r.lengths()) assertTrue(len >= 1);
+    }
+  }
+
+  @Test
+  void tournamentIsReproducibleAtAnyParallelism() throws InterruptedException {
+    List<List<Object>> reference = null;
+    for (int threads : new int[] { 1, 4 }) {
+      var results = new ConcurrentLinkedQueue<MatchResult>();
+      new TournamentRunner(CONFIG, threads).run(40, 7, results::add);
+      var outcomes = new ArrayList<List<Object>>();
+      results.stream().sorted((a, b) -> Long.compare(a.seed(), b.seed())).forEach(r -> outcomes.add(outcome(r)));
+      assertEquals(40, outcomes.size());
+      if (reference == null) reference = outcomes;
+      else assertEquals(reference, outcomes);
+    }
+  }
+
+  private static void assertSameOutcome(MatchResult a, MatchResult b) {
+    assertEquals(outcome(a), outcome(b), "seed " + a.seed());
+  }
+
+  /** Everything but {@code firstDeathMillis}, which is wall-clock time. */
+  private static List<Object> outcome(MatchResult r) {
+    var lengths = new ArrayList<Integer>();
+    for (int len : r.lengths()) lengths.add(len);
+    return List.of(r.seed(), r.winner(), r.firstDeadId(), r.firstDeathTick(), r.ticks(), lengths);
+  }
+}
@@ -0,0 +1,81 @@
+package co.eci.snake.tournament;
+
+import co.eci.snake.core.Direction;
+import co.eci.snake.core.Position;
+import co.eci.snake.core.Snake;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.random.RandomGenerator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StrategiesTest {
+  private static final RandomGenerator UNUSED = new Fixed(0.99, 0);
+
+  private static BoardView board(Set<Position> mice, Set<Position> obstacles) {
+    return new BoardView(10, 10, mice, obstacles);
+  }
+
+  private static Position at(int x, int y) {
+    return new Position(x, y);
+  }
+
+  @Test
+  void randomKeepsHeadingUnlessTheRollTurns() {
+    var snake = Snake.of(0, 5, 5, Direction.RIGHT);
+    var board = board(Set.of(), Set.of());
+    assertEquals(Direction.RIGHT, Strategies.RANDOM.next(snake, board, new Fixed(0.5, 3)));
+    assertEquals(Direction.LEFT, Strategies.RANDOM.next(snake, board, new Fixed(0.05, 2)));
+    assertEquals(Direction.UP, Strategies.RANDOM.next(snake, board, new Fixed(0.05, 0)));
+  }
+
+  @Test
+  void greedyHeadsForTheNearestMouse() {
+    var snake = Snake.of(0, 5, 5, Direction.UP);
+    assertEquals(Direction.RIGHT, Strategies.GREEDY.next(snake, board(Set.of(at(8, 5), at(5, 1)), Set.of()), UNUSED));
+    assertEquals(Direction.UP, Strategies.GREEDY.next(snake, board(Set.of(at(9, 5), at(5, 3)), Set.of()), UNUSED));
+    // The larger axis wins: 3 left and 1 down
+    assertEquals(Direction.LEFT, Strategies.GREEDY.next(snake, board(Set.of(at(2, 6)), Set.of()), UNUSED));
+  }
+
+  @Test
+  void greedyTakesTheShortWayAroundTheEdge() {
+    var snake = Snake.of(0, 8, 1, Direction.UP);
+    // (0, 1) is 8 to the left but 2 to the right through the edge; (8, 9) is 2 up through the edge
+    assertEquals(Direction.RIGHT, Strategies.GREEDY.next(snake, board(Set.of(at(0, 1)), Set.of()), UNUSED));
+    assertEquals(Direction.UP, Strategies.GREEDY.next(snake, board(Set.of(at(8, 9)), Set.of()), UNUSED));
+  }
+
+  @Test
+  void greedyWithoutMiceKeepsHeading() {
+    var snake = Snake.of(0, 5, 5, Direction.DOWN);
+    assertEquals(Direction.DOWN, Strategies.GREEDY.next(snake, board(Set.of(), Set.of()), UNUSED));
+  }
+
+  @Test
+  void cautiousFollowsGreedyWhenTheWayIsClear() {
+    var snake = Snake.of(0, 5, 5, Direction.UP);
+    var board = board(Set.of(at(8, 5)), Set.of(at(5, 4)));
+    assertEquals(Direction.RIGHT, Strategies.CAUTIOUS.next(snake, board, UNUSED));
+  }
+
+  @Test
+  void cautiousSidestepsAnObstacleWithoutReversing() {
+    var snake = Snake.of(0, 5, 5, Direction.RIGHT);
+    var mice = Set.of(at(8, 5));
+    // Greedy says RIGHT into (6, 5); UP is the first free non-reverse direction
+    assertEquals(Direction.UP, Strategies.CAUTIOUS.next(snake, board(mice, Set.of(at(6, 5))), UNUSED));
+    assertEquals(Direction.DOWN, Strategies.CAUTIOUS.next(snake, board(mice, Set.of(at(6, 5), at(5, 4))), UNUSED));
+    // LEFT would be free, but it is a reversal: boxed in, it keeps the greedy choice
+    var boxed = Set.of(at(6, 5), at(5, 4), at(5, 6));
+    assertEquals(Direction.RIGHT, Strategies.CAUTIOUS.next(snake, board(mice, boxed), UNUSED));
+  }
+
+  /** Returns the same double and int every time. */
+  private record Fixed(double nextDouble, int nextInt) implements RandomGenerator {
+    @Override public long nextLong() { return 0; }
+    @Override public double nextDouble() { return nextDouble; }
+    @Override public int nextInt(int bound) { return nextInt; }
+  }
+}
@@ -0,0 +1,47 @@
+package co.eci.snake.tournament;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TournamentSummaryTest {
+
+  @Test
+  void aggregatesResultsPerSeat() {
+    var summary = new TournamentSummary(List.of("RANDOM", "GREEDY"));
+    summary.accept(new MatchResult(1, 0, 1, 4, 10, new int[] { 7, 3 }, 40));
+    summary.accept(new MatchResult(2, 1, 0, 6, 20, new int[] { 1, 9 }, 60));
+    summary.accept(new MatchResult(3, -1, -1, 0, -1, new int[] { 4, 6 }, 200));
+    summary.accept(new MatchResult(4, 1, 0, 2, 30, new int[] { 4, 2 }, 100));
+
+    assertEquals(4, summary.matches());
+    assertEquals(1, summary.wins(0));
+    assertEquals(2, summary.wins(1));
+
+    String report = summary.report();
+    // Draws, mean ticks and first-death means over the three matches where someone died
+    assertTrue(report.contains("matches=4 draws=1 avgTicks=100.0 avgFirstDeathTick=20.0 avgFirstDeathMs=4.00"), report);
+    assertTrue(report.contains("seat 0 RANDOM     wins= 25.00% firstDeath= 50.00% avgLength=  4.00 maxLength=7"), report);
+    assertTrue(report.contains("seat 1 GREEDY     wins= 50.00% firstDeath= 25.00% avgLength=  5.00 maxLength=9"), report);
+  }
+
+  @Test
+  void concurrentResultsAreAllCounted() {
+    var summary = new TournamentSummary(List.of("A", "B"));
+    IntStream.range(0, 10_000).parallel().forEach(i ->
+        summary.accept(new MatchResult(i, i % 2, -1, 0, -1, new int[] { i % 5, 1 }, 1)));
+    assertEquals(10_000, summary.matches());
+    assertEquals(5_000, summary.wins(0));
+    assertEquals(5_000, summary.wins(1));
+    assertTrue(summary.report().contains("maxLength=4"));
+  }
+
+  @Test
+  void emptySummaryReportsZeros() {
+    var report = new TournamentSummary(List.of("A", "B")).report();
+    assertTrue(report.startsWith("matches=0 draws=0 avgTicks=0.0"), report);
+  }
+}
@@ -0,0 +1,17 @@
+package co.eci.snake.ui.legacy;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatsPanelTest {
+
+  @Test
+  void formatKeepsTheSignBelowOne() {
+    assertEquals("-0.5", StatsPanel.format(-0.5, true));
+    assertEquals("-1.5", StatsPanel.format(-1.54, true));
+    assertEquals("0.5", StatsPanel.format(0.5, true));
+    assertEquals("12.3", StatsPanel.format(12.34, true));
+    assertEquals("-3", StatsPanel.format(-2.6, false));
+  }
+}